@@ -0,0 +1,30 @@
+package com.fooddelivery.apigateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Full downstream GET response held by {@link ResponseCache}.
+ */
+public final class CachedResponse {
+
+    private final MediaType contentType;
+    private final byte[] body;
+    private final String etag;
+    private final long expiresAtNanos;
+
+    public CachedResponse(MediaType contentType, byte[] body, String etag, long expiresAtNanos) {
+        this.contentType = contentType;
+        this.body = body;
+        this.etag = etag;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    // Getters
+    public MediaType getContentType() { return contentType; }
+
+    public byte[] getBody() { return body; }
+
+    public String getEtag() { return etag; }
+
+    public long getExpiresAtNanos() { return expiresAtNanos; }
+}
@@ -0,0 +1,133 @@
+package com.fooddelivery.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory store of public GET responses, keyed by path and query string.
+ * Entries expire after their route's TTL and total body size is capped by
+ * {@code gateway.response-cache.max-bytes}. Every purge bumps a generation number; a response
+ * fetched before a purge is not stored, so a purge racing a miss cannot resurrect stale data.
+ */
+@Component
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gateway.response-cache";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${gateway.response-cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes;
+
+    private Cache<String, CachedResponse> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.getBody().length)
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // Read before forwarding a miss and pass to put
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores the body if it is within the per-entry size limit and no purge has happened since
+     * {@code fetchGeneration} was read, and returns its ETag.
+     */
+    public String put(String key, MediaType contentType, byte[] body, Duration ttl, long fetchGeneration) {
+        String etag = etag(body);
+        if (body.length > maxEntryBytes || generation.get() != fetchGeneration) {
+            return etag;
+        }
+        CachedResponse response = new CachedResponse(contentType, body, etag, System.nanoTime() + ttl.toNanos());
+        cache.put(key, response);
+        // A purge that started between the check and the put may have missed this entry
+        if (generation.get() != fetchGeneration) {
+            cache.asMap().remove(key, response);
+        }
+        return etag;
+    }
+
+    /**
+     * Removes every entry whose path equals the prefix or continues it with a new segment or
+     * a query string. Returns the number of entries removed.
+     */
+    public int purge(String prefix) {
+        generation.incrementAndGet();
+        int removed = 0;
+        for (String key : cache.asMap().keySet()) {
+            if (matchesPrefix(key, prefix)) {
+                cache.invalidate(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public void purgeAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static boolean matchesPrefix(String key, String prefix) {
+        if (!key.startsWith(prefix)) {
+            return false;
+        }
+        if (key.length() == prefix.length()) {
+            return true;
+        }
+        char next = key.charAt(prefix.length());
+        return next == '/' || next == '?';
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private static class TtlExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return Math.max(response.getExpiresAtNanos() - System.nanoTime(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fooddelivery.apigateway.cache;
+
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import com.fooddelivery.apigateway.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified JWT principals keyed by a SHA-256 digest of the raw token,
+ * so repeat requests with the same bearer token skip signature verification.
+ * Each entry expires at the token's {@code exp}; the size cap evicts least recently used entries.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwt.verified-tokens";
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<String, JwtPrincipal> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the verified principal for the token, verifying and caching it on a miss.
+     * Returns {@code null} for invalid or expired tokens; those are never cached.
+     */
+    public JwtPrincipal verify(String token) {
+        if (!enabled) {
+            return jwtUtil.verifyToken(token);
+        }
+
+        String key = digest(token);
+        JwtPrincipal principal = cache.getIfPresent(key);
+        if (principal != null) {
+            return principal;
+        }
+
+        principal = jwtUtil.verifyToken(token);
+        if (principal != null) {
+            cache.put(key, principal);
+        }
+        return principal;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Expire each entry exactly when its token does, regardless of reads or writes
+    private static class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            long remainingMillis = principal.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.fooddelivery.apigateway.controller;
+
+import com.fooddelivery.apigateway.cache.ResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lets downstream services evict cached catalog responses after their writes commit.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+public class CachePurgeController {
+
+    public static final String PURGE_TOKEN_HEADER = "X-Cache-Purge-Token";
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Value("${gateway.response-cache.purge-token}")
+    private String purgeToken;
+
+    @PostMapping("/purge")
+    public ResponseEntity<?> purge(@RequestParam(value = "prefix", required = false) List<String> prefixes,
+                                   @RequestHeader(value = PURGE_TOKEN_HEADER, required = false) String token) {
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), purgeToken.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Invalid purge token"));
+        }
+
+        if (prefixes == null || prefixes.isEmpty()) {
+            responseCache.purgeAll();
+            return ResponseEntity.ok(Map.of("purged", "all"));
+        }
+
+        int purged = 0;
+        for (String prefix : prefixes) {
+            purged += responseCache.purge(prefix);
+        }
+        return ResponseEntity.ok(Map.of("purged", purged));
+    }
+}
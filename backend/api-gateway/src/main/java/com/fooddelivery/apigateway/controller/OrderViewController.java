@@ -0,0 +1,47 @@
+package com.fooddelivery.apigateway.controller;
+
+import com.fooddelivery.apigateway.cache.VerifiedTokenCache;
+import com.fooddelivery.apigateway.revocation.RevocationList;
+import com.fooddelivery.apigateway.service.OrderViewService;
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Aggregated read views served by the gateway itself, replacing several sequential client calls.
+ */
+@RestController
+@RequestMapping("/api/views")
+public class OrderViewController {
+
+    @Autowired
+    private OrderViewService orderViewService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @GetMapping("/orders/{id}")
+    public Mono<ResponseEntity<Object>> getOrderView(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        // Reject bad tokens here rather than three times downstream
+        JwtPrincipal principal = authorization != null && authorization.startsWith("Bearer ")
+                ? verifiedTokenCache.verify(authorization.substring(7))
+                : null;
+        if (principal == null || revocationList.isRevoked(principal)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Missing or invalid Authorization header")));
+        }
+
+        return orderViewService.getOrderView(id, authorization)
+                .map(view -> ResponseEntity.status(view.getStatus()).body(view.getBody()));
+    }
+}
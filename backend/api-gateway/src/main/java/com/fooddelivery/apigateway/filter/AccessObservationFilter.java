@@ -0,0 +1,82 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.observability.AccessLogWriter;
+import com.fooddelivery.apigateway.observability.RouteLatencyRecorder;
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Outermost filter on every routed request: records latency per route and status class and
+ * hands a sampled entry to the async access log. Does no I/O or locking on the request path.
+ */
+@Component
+public class AccessObservationFilter implements GlobalFilter, Ordered {
+
+    // Client closed the connection before a response was written (nginx convention)
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
+    @Autowired
+    private RouteLatencyRecorder latencyRecorder;
+
+    @Autowired
+    private AccessLogWriter accessLogWriter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            long elapsed = System.nanoTime() - start;
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unmatched";
+            int status = status(exchange, signal);
+
+            latencyRecorder.record(routeId, status, elapsed);
+            if (accessLogWriter.shouldLog(status, elapsed)) {
+                accessLogWriter.log(entry(exchange, routeId, status, elapsed));
+            }
+        });
+    }
+
+    private static int status(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return 500;
+        }
+        if (signal == SignalType.CANCEL) {
+            return CLIENT_CLOSED_REQUEST;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null ? status.value() : 200;
+    }
+
+    private static AccessLogWriter.AccessLogEntry entry(ServerWebExchange exchange, String routeId,
+                                                        int status, long elapsed) {
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String client = remoteAddress == null ? "unknown"
+                : remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+        JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+
+        return new AccessLogWriter.AccessLogEntry(System.currentTimeMillis(), request.getMethod().name(),
+                request.getURI().getRawPath(), routeId, status, elapsed, client,
+                principal != null ? principal.getUserId() : null);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.resilience.GradientLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load per route once the downstream service starts queueing. The concurrency limit adapts
+ * to observed latency (see {@link GradientLimiter}); requests over it get 503 straight away
+ * instead of waiting in line. Reads may only fill {@code readShare} of the limit, so under
+ * overload browse GETs are shed before writes such as placing an order or paying.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Latest limiter per route id, so metrics follow route refreshes
+    private final ConcurrentHashMap<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        RouteLimiter limiter = new RouteLimiter(routeId, config);
+        if (limiters.put(routeId, limiter) == null) {
+            registerGauges(routeId);
+        }
+        return limiter;
+    }
+
+    private void registerGauges(String routeId) {
+        Gauge.builder("gateway.concurrency.limit", limiters, l -> l.get(routeId).limiter.getLimit())
+                .description("Current adaptive concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiters, l -> l.get(routeId).limiter.getInFlight())
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private static boolean isRead(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS;
+    }
+
+    private class RouteLimiter implements GatewayFilter {
+
+        private final String routeId;
+        private final Config config;
+        private final GradientLimiter limiter;
+        private final Counter shedReads;
+        private final Counter shedWrites;
+
+        RouteLimiter(String routeId, Config config) {
+            this.routeId = routeId;
+            this.config = config;
+            this.limiter = new GradientLimiter(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+            this.shedReads = shedCounter("read");
+            this.shedWrites = shedCounter("write");
+        }
+
+        private Counter shedCounter(String priority) {
+            return Counter.builder("gateway.concurrency.shed")
+                    .tag("route", routeId)
+                    .tag("priority", priority)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            boolean read = isRead(exchange.getRequest().getMethod());
+            if (!limiter.tryAcquire(read ? config.getReadShare() : 1.0)) {
+                (read ? shedReads : shedWrites).increment();
+                return shed(exchange);
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doOnSuccess(v -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (exchange.getAttribute(ResilienceFilter.SHORT_CIRCUITED_ATTRIBUTE) != null) {
+                            // The gateway's own 503 says nothing about downstream latency or capacity
+                            limiter.release();
+                        } else if (status != null && status.is5xxServerError()) {
+                            limiter.onDropped();
+                        } else {
+                            limiter.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> limiter.onDropped())
+                    .doOnCancel(limiter::release);
+        }
+
+        private Mono<Void> shed(ServerWebExchange exchange) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().add("Content-Type", "application/json");
+            response.getHeaders().add("Retry-After", "1");
+
+            String body = "{\"error\":\"Service for route " + routeId + " is overloaded, please retry\"}";
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+        }
+
+        @Override
+        public String toString() {
+            return "AdaptiveConcurrency[limit = " + limiter.getLimit()
+                    + ", inFlight = " + limiter.getInFlight()
+                    + ", readShare = " + config.getReadShare() + "]";
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private double readShare = 0.8;
+
+        // Getters and Setters
+        @Override
+        public String getRouteId() { return routeId; }
+        @Override
+        public void setRouteId(String routeId) { this.routeId = routeId; }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public double getReadShare() { return readShare; }
+        public void setReadShare(double readShare) { this.readShare = readShare; }
+    }
+}
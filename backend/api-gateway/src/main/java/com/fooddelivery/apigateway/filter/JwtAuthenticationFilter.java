@@ -1,7 +1,14 @@
 package com.fooddelivery.apigateway.filter;
 
-import com.fooddelivery.apigateway.util.JwtUtil;
+import com.fooddelivery.apigateway.cache.VerifiedTokenCache;
+import com.fooddelivery.apigateway.policy.RoutePolicy;
+import com.fooddelivery.apigateway.policy.RoutePolicyMatcher;
+import com.fooddelivery.apigateway.revocation.RevocationList;
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import com.fooddelivery.common.security.IdentityHeaders;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -15,21 +22,45 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
+    // Exchange attribute holding the verified JwtPrincipal for later filters
+    public static final String PRINCIPAL_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".principal";
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RoutePolicyMatcher routePolicyMatcher;
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private RevocationList revocationList;
+
+    @Value("${identity.headers.enabled:false}")
+    private boolean signIdentityHeaders;
+
+    @Value("${identity.headers.secret:}")
+    private String identityHeaderSecret;
+
+    private IdentityHeaders identityHeaders;
 
     public JwtAuthenticationFilter() {
         super(Config.class);
     }
 
+    @PostConstruct
+    public void init() {
+        if (signIdentityHeaders) {
+            identityHeaders = new IdentityHeaders(identityHeaderSecret);
+        }
+    }
+
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
             
             // Skip authentication for public endpoints
-            String path = request.getURI().getPath();
-            if (isPublicEndpoint(path)) {
+            RoutePolicy policy = routePolicyMatcher.match(request.getURI().getPath());
+            if (policy.isPublic()) {
                 return chain.filter(exchange);
             }
 
@@ -43,23 +74,38 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             String token = authHeader.substring(7);
             
             try {
-                if (!jwtUtil.validateToken(token)) {
+                // Verify signature and expiry in one parse, or reuse a recent verification
+                JwtPrincipal principal = verifiedTokenCache.verify(token);
+                if (principal == null) {
                     return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
                 }
 
-                // Extract user information and add to headers for downstream services
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
-                Long userId = jwtUtil.extractUserId(token);
+                if (revocationList.isRevoked(principal)) {
+                    return onError(exchange, "Token has been revoked", HttpStatus.UNAUTHORIZED);
+                }
+
+                if (!policy.allowsRole(principal.getRole())) {
+                    return onError(exchange, "Access denied for role " + principal.getRole(), HttpStatus.FORBIDDEN);
+                }
+                exchange.getAttributes().put(PRINCIPAL_ATTRIBUTE, principal);
+
+                // Add user information to request headers for downstream services
+                String userId = principal.getUserId().toString();
+                ServerHttpRequest.Builder requestBuilder = request.mutate()
+                        .header(IdentityHeaders.USER_ID, userId)
+                        .header(IdentityHeaders.USER_EMAIL, principal.getUsername())
+                        .header(IdentityHeaders.USER_ROLE, principal.getRole());
 
-                // Add user information to request headers
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", userId.toString())
-                        .header("X-User-Email", username)
-                        .header("X-User-Role", role)
-                        .build();
+                // Sign the identity so downstream services can trust it without re-parsing the token
+                if (identityHeaders != null) {
+                    long timestamp = System.currentTimeMillis();
+                    requestBuilder
+                            .header(IdentityHeaders.TIMESTAMP, Long.toString(timestamp))
+                            .header(IdentityHeaders.SIGNATURE, identityHeaders.sign(
+                                    userId, principal.getUsername(), principal.getRole(), timestamp));
+                }
 
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
+                return chain.filter(exchange.mutate().request(requestBuilder.build()).build());
 
             } catch (Exception e) {
                 return onError(exchange, "JWT token validation failed: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -67,15 +113,6 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
         };
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return path.startsWith("/api/auth/") ||
-               path.equals("/api/users/register") ||
-               path.startsWith("/actuator/") ||
-               path.startsWith("/api/restaurants") && !path.contains("/my-restaurants") ||
-               path.startsWith("/api/menu/restaurant/") ||
-               path.startsWith("/api/deliveries/track/");
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(httpStatus);
@@ -0,0 +1,87 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.policy.RoutePolicy;
+import com.fooddelivery.apigateway.policy.RoutePolicyMatcher;
+import com.fooddelivery.apigateway.ratelimit.ClientRateLimiter;
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting per client and rate class. Authenticated requests are keyed on
+ * the verified user id, anonymous ones on the client IP. Must follow JwtAuthenticationFilter
+ * in the route's filter list so the principal is available.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Autowired
+    private RoutePolicyMatcher routePolicyMatcher;
+
+    public RateLimitFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!rateLimiter.isEnabled()) {
+                return chain.filter(exchange);
+            }
+
+            RoutePolicy policy = routePolicyMatcher.match(exchange.getRequest().getURI().getPath());
+            long waitNanos = rateLimiter.tryAcquire(policy.getRateClass(), clientKey(exchange));
+            if (waitNanos > 0) {
+                return onRejected(exchange, waitNanos);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    // Use the verified principal rather than X-User-Id, which clients can set on public routes
+    private static String clientKey(ServerWebExchange exchange) {
+        JwtPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.PRINCIPAL_ATTRIBUTE);
+        if (principal != null && principal.getUserId() != null) {
+            return "user:" + principal.getUserId();
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "ip:unknown";
+        }
+        return remoteAddress.getAddress() != null
+                ? "ip:" + remoteAddress.getAddress().getHostAddress()
+                : "ip:" + remoteAddress.getHostString();
+    }
+
+    private Mono<Void> onRejected(ServerWebExchange exchange, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().add("Content-Type", "application/json");
+
+        String body = "{\"error\":\"Too many requests, retry after " + retryAfterSeconds + "s\"}";
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+    }
+
+    public static class Config {
+        // Configuration properties can be added here if needed
+    }
+}
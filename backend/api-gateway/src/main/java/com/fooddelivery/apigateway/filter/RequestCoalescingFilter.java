@@ -0,0 +1,223 @@
+package com.fooddelivery.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collapses concurrent identical GET requests into a single downstream call. The first request
+ * for a key is forwarded; requests arriving while it is in flight wait for its response and are
+ * answered from the same bytes. Nothing is kept once the call completes, so responses are never
+ * stale. Only 2xx responses are shared; waiters fall back to their own downstream call when the
+ * route's waiter cap is reached, the shared call fails or errors, or its response is private to
+ * the caller. Requests carrying an Authorization header only join flights with the same header.
+ * The filter is ordered ahead of the route's JwtAuthenticationFilter and RateLimitFilter, so
+ * waiters answered from a shared response are not charged against any rate-limit bucket; only
+ * the leader and requests that fall back to their own call are.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    private static final String COALESCED_HEADER = "X-Coalesced";
+
+    // Response headers that belong to one client connection and are never fanned out
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase());
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Counter leaders = outcomeCounter("leader");
+        Counter waiters = outcomeCounter("waiter");
+        Counter overflow = outcomeCounter("overflow");
+
+        GatewayFilter filter = (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = coalescingKey(request, config);
+            InFlight created = new InFlight();
+            InFlight existing = inFlight.putIfAbsent(key, created);
+
+            if (existing == null) {
+                leaders.increment();
+                ServerHttpResponse decorated = new SharingResponse(exchange.getResponse(), key, created);
+                return chain.filter(exchange.mutate().response(decorated).build())
+                        .doFinally(signal -> complete(key, created, SharedResponse.NOT_SHAREABLE));
+            }
+
+            if (existing.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                existing.waiters.decrementAndGet();
+                overflow.increment();
+                return chain.filter(exchange);
+            }
+
+            waiters.increment();
+            return existing.result.asMono()
+                    .timeout(config.getMaxWait(), Mono.just(SharedResponse.NOT_SHAREABLE))
+                    .flatMap(shared -> shared.shareable
+                            ? writeShared(exchange, shared)
+                            : chain.filter(exchange));
+        };
+
+        // Must run after ResponseCacheFilter and before NettyWriteResponseFilter, which writes the body
+        return new OrderedGatewayFilter(filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Counter outcomeCounter(String outcome) {
+        return Counter.builder("gateway.coalescing.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Unregister first so requests arriving after this point start a fresh call
+    private void complete(String key, InFlight flight, SharedResponse response) {
+        inFlight.remove(key, flight);
+        flight.result.tryEmitValue(response);
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status);
+        response.getHeaders().putAll(shared.headers);
+        response.getHeaders().setContentLength(shared.body.length);
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    private String coalescingKey(ServerHttpRequest request, Config config) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : config.getVaryHeaders()) {
+            key.append('\n').append(header).append(':').append(request.getHeaders().getOrEmpty(header));
+        }
+        // Responses may depend on who is asking, even on public routes
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            key.append('\n').append(authorization);
+        }
+        return key.toString();
+    }
+
+    private static boolean isShareable(ServerHttpResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || !status.is2xxSuccessful()) {
+            return false;
+        }
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("private") || cacheControl.contains("no-store"));
+    }
+
+    private static final class InFlight {
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private static final class SharedResponse {
+        private static final SharedResponse NOT_SHAREABLE = new SharedResponse(null, null, null, false);
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final boolean shareable;
+
+        SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, boolean shareable) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.shareable = shareable;
+        }
+    }
+
+    // Buffers the leader's downstream body and hands a copy to the waiters before writing it
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final InFlight flight;
+
+        SharingResponse(ServerHttpResponse delegate, String key, InFlight flight) {
+            super(delegate);
+            this.key = key;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isShareable(getDelegate())) {
+                complete(key, flight, SharedResponse.NOT_SHAREABLE);
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                HttpHeaders headers = new HttpHeaders();
+                getHeaders().forEach((name, values) -> {
+                    if (!UNSHARED_HEADERS.contains(name.toLowerCase())) {
+                        headers.put(name, new ArrayList<>(values));
+                    }
+                });
+                complete(key, flight, new SharedResponse(getStatusCode(), headers, bytes, true));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    public static class Config {
+        private int maxWaiters = 256;
+        private Duration maxWait = Duration.ofSeconds(10);
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE);
+
+        // Getters and Setters
+        public int getMaxWaiters() { return maxWaiters; }
+        public void setMaxWaiters(int maxWaiters) { this.maxWaiters = maxWaiters; }
+
+        public Duration getMaxWait() { return maxWait; }
+        public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+        public List<String> getVaryHeaders() { return varyHeaders; }
+        public void setVaryHeaders(List<String> varyHeaders) { this.varyHeaders = varyHeaders; }
+    }
+}
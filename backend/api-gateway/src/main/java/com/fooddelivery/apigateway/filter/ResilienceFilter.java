@@ -0,0 +1,194 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-route isolation: a concurrency bulkhead, a response timeout and a circuit breaker that
+ * opens on a high 5xx/error rate and probes the service again after a cool-down. Rejected and
+ * failed calls get a JSON fallback instead of tying up a gateway connection. Live state is shown
+ * in the route's filter list on /actuator/gateway/routes and as gateway.resilience.* metrics.
+ */
+@Component
+public class ResilienceFilter extends AbstractGatewayFilterFactory<ResilienceFilter.Config> {
+
+    // Set when the guard answered without calling downstream (circuit open or bulkhead full)
+    public static final String SHORT_CIRCUITED_ATTRIBUTE = ResilienceFilter.class.getName() + ".shortCircuited";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Latest guard per route id, so metrics follow route refreshes
+    private final ConcurrentHashMap<String, RouteGuard> guards = new ConcurrentHashMap<>();
+
+    public ResilienceFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        RouteGuard guard = new RouteGuard(routeId, config);
+        if (guards.put(routeId, guard) == null) {
+            registerGauges(routeId);
+        }
+        return guard;
+    }
+
+    private void registerGauges(String routeId) {
+        Gauge.builder("gateway.resilience.state", guards, g -> g.get(routeId).breaker.getState().ordinal())
+                .description("Circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.resilience.in-flight", guards, g -> g.get(routeId).inFlight())
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private class RouteGuard implements GatewayFilter {
+
+        private final String routeId;
+        private final Config config;
+        private final CircuitBreaker breaker;
+        private final Semaphore bulkhead;
+        private final Counter circuitOpen;
+        private final Counter bulkheadFull;
+        private final Counter timeouts;
+
+        RouteGuard(String routeId, Config config) {
+            this.routeId = routeId;
+            this.config = config;
+            this.breaker = new CircuitBreaker(config.getWindowSize(), config.getFailureRateThreshold(),
+                    config.getOpenDuration().toNanos(), config.getHalfOpenProbes());
+            this.bulkhead = new Semaphore(config.getMaxConcurrent());
+            this.circuitOpen = rejectedCounter("circuit_open");
+            this.bulkheadFull = rejectedCounter("bulkhead_full");
+            this.timeouts = rejectedCounter("timeout");
+        }
+
+        private Counter rejectedCounter(String reason) {
+            return Counter.builder("gateway.resilience.rejected")
+                    .tag("route", routeId)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        int inFlight() {
+            return config.getMaxConcurrent() - bulkhead.availablePermits();
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            if (!breaker.tryAcquire()) {
+                circuitOpen.increment();
+                exchange.getAttributes().put(SHORT_CIRCUITED_ATTRIBUTE, Boolean.TRUE);
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(breaker.remainingOpenNanos()));
+                exchange.getResponse().getHeaders().add(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "temporarily unavailable");
+            }
+
+            if (!bulkhead.tryAcquire()) {
+                breaker.onIgnored();
+                bulkheadFull.increment();
+                exchange.getAttributes().put(SHORT_CIRCUITED_ATTRIBUTE, Boolean.TRUE);
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "overloaded");
+            }
+
+            return chain.filter(exchange)
+                    .timeout(config.getTimeout())
+                    .then(Mono.fromRunnable(() -> recordOutcome(exchange.getResponse().getStatusCode())))
+                    .onErrorResume(e -> {
+                        breaker.onFailure();
+                        if (exchange.getResponse().isCommitted()) {
+                            return Mono.error(e);
+                        }
+                        if (e instanceof TimeoutException) {
+                            timeouts.increment();
+                            return fallback(exchange, HttpStatus.GATEWAY_TIMEOUT, "did not respond in time");
+                        }
+                        return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, "unreachable");
+                    })
+                    .doOnCancel(breaker::onIgnored)
+                    .doFinally(signal -> bulkhead.release())
+                    .then();
+        }
+
+        private void recordOutcome(HttpStatusCode status) {
+            if (status != null && status.is5xxServerError()) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+
+        private Mono<Void> fallback(ServerWebExchange exchange, HttpStatus status, String reason) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().set("Content-Type", "application/json");
+
+            String body = "{\"error\":\"Service for route " + routeId + " is " + reason + "\"}";
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+        }
+
+        @Override
+        public String toString() {
+            return "Resilience[state = " + breaker.getState()
+                    + ", inFlight = " + inFlight() + "/" + config.getMaxConcurrent()
+                    + ", timeout = " + config.getTimeout() + "]";
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int maxConcurrent = 200;
+        private Duration timeout = Duration.ofSeconds(5);
+        private int windowSize = 20;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 3;
+
+        // Getters and Setters
+        @Override
+        public String getRouteId() { return routeId; }
+        @Override
+        public void setRouteId(String routeId) { this.routeId = routeId; }
+
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+        public Duration getTimeout() { return timeout; }
+        public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+        public int getWindowSize() { return windowSize; }
+        public void setWindowSize(int windowSize) { this.windowSize = windowSize; }
+
+        public int getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(int failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+        public Duration getOpenDuration() { return openDuration; }
+        public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+
+        public int getHalfOpenProbes() { return halfOpenProbes; }
+        public void setHalfOpenProbes(int halfOpenProbes) { this.halfOpenProbes = halfOpenProbes; }
+    }
+}
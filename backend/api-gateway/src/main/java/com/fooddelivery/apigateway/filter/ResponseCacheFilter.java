@@ -0,0 +1,153 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.cache.CachedResponse;
+import com.fooddelivery.apigateway.cache.ResponseCache;
+import com.fooddelivery.apigateway.policy.RoutePolicy;
+import com.fooddelivery.apigateway.policy.RoutePolicyMatcher;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Serves GET requests on public, cacheable routes (see gateway.route-policies) from the
+ * in-memory {@link ResponseCache}, answering {@code If-None-Match} with 304. Misses are forwarded
+ * and successful responses are stored for the route's cache TTL unless the downstream service
+ * marks them {@code Cache-Control: private} or {@code no-store}.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private RoutePolicyMatcher routePolicyMatcher;
+
+    public ResponseCacheFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter filter = (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            RoutePolicy policy = routePolicyMatcher.match(request.getURI().getPath());
+            if (!policy.isPublic() || !policy.isCacheable()) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(request);
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+
+            // Taken before forwarding, so a purge during the downstream call prevents the store
+            long generation = responseCache.generation();
+            ServerHttpResponse decorated = new CachingResponse(exchange.getResponse(), key, policy, generation);
+            return chain.filter(exchange.mutate().response(decorated).build());
+        };
+
+        // Must run before RequestCoalescingFilter and NettyWriteResponseFilter so the decorated response sees the body
+        return new OrderedGatewayFilter(filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.getEtag());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.getContentType() != null) {
+            headers.setContentType(cached.getContentType());
+        }
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query == null ? path : path + "?" + query;
+    }
+
+    private static boolean isStorable(ServerHttpResponse response) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return false;
+        }
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("private") || cacheControl.contains("no-store"));
+    }
+
+    // Buffers the downstream body so it can be stored and tagged before it is written
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final RoutePolicy policy;
+        private final long generation;
+
+        CachingResponse(ServerHttpResponse delegate, String key, RoutePolicy policy, long generation) {
+            super(delegate);
+            this.key = key;
+            this.policy = policy;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isStorable(getDelegate())) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = responseCache.put(key, getHeaders().getContentType(), bytes, policy.getCacheTtl(), generation);
+                getHeaders().setETag(etag);
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    public static class Config {
+        // Configuration properties can be added here if needed
+    }
+}
@@ -0,0 +1,198 @@
+package com.fooddelivery.apigateway.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, sampled access log written off the request path. Request threads only sample and
+ * enqueue into a bounded lock-free ring; a single background thread formats JSON lines and hands
+ * them to the "gateway.access" logger. When the ring is full entries are dropped and counted
+ * rather than slowing requests down. Server errors and slow requests are always logged.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLogger = LoggerFactory.getLogger("gateway.access");
+
+    @Value("${gateway.access-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.access-log.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${gateway.access-log.slow-threshold-ms:1000}")
+    private long slowThresholdMs;
+
+    @Value("${gateway.access-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Ring ring;
+
+    private Counter dropped;
+
+    private long slowThresholdNanos;
+
+    private Thread drainer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        ring = new Ring(bufferSize);
+        dropped = Counter.builder("gateway.access-log.dropped")
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+
+        if (enabled) {
+            running = true;
+            drainer = new Thread(this::drain, "gateway-access-log");
+            drainer.setDaemon(true);
+            drainer.start();
+        }
+    }
+
+    public boolean shouldLog(int status, long elapsedNanos) {
+        return enabled && (status >= 500
+                || elapsedNanos >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    public void log(AccessLogEntry entry) {
+        if (!ring.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            AccessLogEntry entry = ring.poll();
+            if (entry == null) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                continue;
+            }
+            accessLogger.info(entry.toJson());
+        }
+        for (AccessLogEntry entry = ring.poll(); entry != null; entry = ring.poll()) {
+            accessLogger.info(entry.toJson());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (drainer != null) {
+            drainer.join(TimeUnit.SECONDS.toMillis(2));
+        }
+    }
+
+    /**
+     * One access log line, captured on the request thread and formatted on the drain thread.
+     */
+    public static final class AccessLogEntry {
+        private final long timestampMillis;
+        private final String method;
+        private final String path;
+        private final String routeId;
+        private final int status;
+        private final long elapsedNanos;
+        private final String client;
+        private final Long userId;
+
+        public AccessLogEntry(long timestampMillis, String method, String path, String routeId,
+                              int status, long elapsedNanos, String client, Long userId) {
+            this.timestampMillis = timestampMillis;
+            this.method = method;
+            this.path = path;
+            this.routeId = routeId;
+            this.status = status;
+            this.elapsedNanos = elapsedNanos;
+            this.client = client;
+            this.userId = userId;
+        }
+
+        String toJson() {
+            StringBuilder json = new StringBuilder(160);
+            json.append("{\"ts\":\"").append(Instant.ofEpochMilli(timestampMillis)).append('"');
+            json.append(",\"method\":\"").append(method).append('"');
+            json.append(",\"path\":\"");
+            appendEscaped(json, path);
+            json.append("\",\"route\":\"").append(routeId).append('"');
+            json.append(",\"status\":").append(status);
+            json.append(",\"latencyMs\":").append(elapsedNanos / 1_000_000.0);
+            json.append(",\"client\":\"").append(client).append('"');
+            if (userId != null) {
+                json.append(",\"userId\":").append(userId);
+            }
+            return json.append('}').toString();
+        }
+
+        private static void appendEscaped(StringBuilder json, String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    json.append('\\');
+                }
+                json.append(c < 0x20 ? '?' : c);
+            }
+        }
+    }
+
+    // Bounded multi-producer, single-consumer ring; producers claim a slot with one CAS
+    private static final class Ring {
+        private final AtomicReferenceArray<AccessLogEntry> slots;
+        private final int capacity;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        Ring(int requestedCapacity) {
+            capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+            mask = capacity - 1;
+            slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        boolean offer(AccessLogEntry entry) {
+            while (true) {
+                long claimed = tail.get();
+                if (claimed - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(claimed, claimed + 1)) {
+                    slots.lazySet((int) (claimed & mask), entry);
+                    return true;
+                }
+            }
+        }
+
+        // Only called from the drain thread
+        AccessLogEntry poll() {
+            long next = head.get();
+            int index = (int) (next & mask);
+            AccessLogEntry entry = slots.get(index);
+            if (entry == null) {
+                return null;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(next + 1);
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.fooddelivery.apigateway.observability;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/latency: p50/p99/p999 per route and status class. DELETE starts a fresh window.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    @Autowired
+    private RouteLatencyRecorder latencyRecorder;
+
+    @ReadOperation
+    public Map<String, Map<String, Map<String, Object>>> latency() {
+        return latencyRecorder.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        latencyRecorder.reset();
+    }
+}
@@ -0,0 +1,108 @@
+package com.fooddelivery.apigateway.observability;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms per route id and status class. Requests record into an HdrHistogram
+ * {@link Recorder}, whose writers are wait-free; the reader side swaps out interval histograms
+ * and folds them into running totals, so only reads ever synchronize.
+ */
+@Component
+public class RouteLatencyRecorder {
+
+    // Values are microseconds; anything slower than a minute is clamped into the top bucket
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final ConcurrentHashMap<String, Series[]> routes = new ConcurrentHashMap<>();
+
+    public void record(String routeId, int status, long elapsedNanos) {
+        Series[] series = routes.get(routeId);
+        if (series == null) {
+            series = routes.computeIfAbsent(routeId, id -> newSeries());
+        }
+        int statusClass = status / 100;
+        if (statusClass < 1 || statusClass > 5) {
+            statusClass = 0;
+        }
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS);
+        series[statusClass].recorder.recordValue(micros);
+    }
+
+    /**
+     * Percentiles in milliseconds per route and status class, since startup or the last reset.
+     */
+    public Map<String, Map<String, Map<String, Object>>> snapshot() {
+        Map<String, Map<String, Map<String, Object>>> snapshot = new TreeMap<>();
+        routes.forEach((routeId, series) -> {
+            Map<String, Map<String, Object>> byStatus = new LinkedHashMap<>();
+            for (int i = 0; i < series.length; i++) {
+                Histogram total = series[i].collect();
+                if (total.getTotalCount() > 0) {
+                    byStatus.put(STATUS_CLASSES[i], summarize(total));
+                }
+            }
+            if (!byStatus.isEmpty()) {
+                snapshot.put(routeId, byStatus);
+            }
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        routes.values().forEach(series -> {
+            for (Series s : series) {
+                s.reset();
+            }
+        });
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50Ms", toMillis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", toMillis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", toMillis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", toMillis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Series[] newSeries() {
+        Series[] series = new Series[STATUS_CLASSES.length];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = new Series();
+        }
+        return series;
+    }
+
+    private static final class Series {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram interval;
+
+        synchronized Histogram collect() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return total.copy();
+        }
+
+        synchronized void reset() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.reset();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.fooddelivery.apigateway.policy;
+
+public enum AuthMode {
+    PUBLIC,     // no token required
+    TOKEN,      // any valid token
+    ROLE        // valid token whose role is in the policy's role list
+}
@@ -0,0 +1,53 @@
+package com.fooddelivery.apigateway.policy;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Immutable per-prefix policy compiled from {@code gateway.route-policies}.
+ */
+public final class RoutePolicy {
+
+    public static final String DEFAULT_RATE_CLASS = "default";
+
+    // Applied to paths that match no configured prefix
+    public static final RoutePolicy DEFAULT = new RoutePolicy("/", AuthMode.TOKEN, Set.of(), false, Duration.ZERO, DEFAULT_RATE_CLASS);
+
+    private final String prefix;
+    private final AuthMode authMode;
+    private final Set<String> roles;
+    private final boolean cacheable;
+    private final Duration cacheTtl;
+    private final String rateClass;
+
+    public RoutePolicy(String prefix, AuthMode authMode, Set<String> roles,
+                       boolean cacheable, Duration cacheTtl, String rateClass) {
+        this.prefix = prefix;
+        this.authMode = authMode;
+        this.roles = Set.copyOf(roles);
+        this.cacheable = cacheable;
+        this.cacheTtl = cacheTtl;
+        this.rateClass = rateClass;
+    }
+
+    public boolean isPublic() {
+        return authMode == AuthMode.PUBLIC;
+    }
+
+    public boolean allowsRole(String role) {
+        return authMode != AuthMode.ROLE || (role != null && roles.contains(role));
+    }
+
+    // Getters
+    public String getPrefix() { return prefix; }
+
+    public AuthMode getAuthMode() { return authMode; }
+
+    public Set<String> getRoles() { return roles; }
+
+    public boolean isCacheable() { return cacheable; }
+
+    public Duration getCacheTtl() { return cacheTtl; }
+
+    public String getRateClass() { return rateClass; }
+}
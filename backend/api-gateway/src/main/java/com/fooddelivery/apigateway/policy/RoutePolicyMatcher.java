@@ -0,0 +1,99 @@
+package com.fooddelivery.apigateway.policy;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Longest-prefix matcher over the configured route policies. The policy table is compiled at
+ * startup into a character trie with sorted child arrays, so a lookup walks the path once
+ * (O(path length)) and allocates nothing.
+ * A prefix only matches on a segment boundary: "/api/restaurants" matches "/api/restaurants"
+ * and "/api/restaurants/7" but not "/api/restaurantsX".
+ */
+@Component
+public class RoutePolicyMatcher {
+
+    @Autowired
+    private RoutePolicyProperties properties;
+
+    private Node root;
+
+    @PostConstruct
+    public void init() {
+        BuildNode buildRoot = new BuildNode();
+        for (RoutePolicyProperties.Entry entry : properties.getRoutePolicies()) {
+            String prefix = entry.getPrefix();
+            if (prefix == null || !prefix.startsWith("/")) {
+                throw new IllegalStateException("Route policy prefix must start with '/': " + prefix);
+            }
+
+            BuildNode node = buildRoot;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new BuildNode());
+            }
+            if (node.policy != null) {
+                throw new IllegalStateException("Duplicate route policy prefix: " + prefix);
+            }
+            node.policy = new RoutePolicy(prefix, entry.getAuth(), new HashSet<>(entry.getRoles()),
+                    entry.isCacheable(), entry.getCacheTtl(), entry.getRateClass());
+        }
+        root = buildRoot.compile();
+    }
+
+    public RoutePolicy match(String path) {
+        RoutePolicy best = RoutePolicy.DEFAULT;
+        Node node = root;
+        int length = path.length();
+
+        for (int i = 0; i < length && node != null; i++) {
+            char c = path.charAt(i);
+            node = node.child(c);
+            if (node != null && node.policy != null
+                    && (c == '/' || i + 1 == length || path.charAt(i + 1) == '/')) {
+                best = node.policy;
+            }
+        }
+        return best;
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final RoutePolicy policy;
+
+        private Node(char[] keys, Node[] children, RoutePolicy policy) {
+            this.keys = keys;
+            this.children = children;
+            this.policy = policy;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    // Mutable node used only while compiling the table
+    private static final class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private RoutePolicy policy;
+
+        private Node compile() {
+            char[] keys = new char[children.size()];
+            Node[] compiled = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                compiled[i] = entry.getValue().compile();
+                i++;
+            }
+            return new Node(keys, compiled, policy);
+        }
+    }
+}
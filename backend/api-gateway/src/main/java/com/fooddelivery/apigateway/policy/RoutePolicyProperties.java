@@ -0,0 +1,46 @@
+package com.fooddelivery.apigateway.policy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "gateway")
+public class RoutePolicyProperties {
+
+    private List<Entry> routePolicies = new ArrayList<>();
+
+    public List<Entry> getRoutePolicies() { return routePolicies; }
+    public void setRoutePolicies(List<Entry> routePolicies) { this.routePolicies = routePolicies; }
+
+    public static class Entry {
+        private String prefix;
+        private AuthMode auth = AuthMode.TOKEN;
+        private List<String> roles = new ArrayList<>();
+        private boolean cacheable;
+        private Duration cacheTtl = Duration.ofSeconds(60);
+        private String rateClass = RoutePolicy.DEFAULT_RATE_CLASS;
+
+        // Getters and Setters
+        public String getPrefix() { return prefix; }
+        public void setPrefix(String prefix) { this.prefix = prefix; }
+
+        public AuthMode getAuth() { return auth; }
+        public void setAuth(AuthMode auth) { this.auth = auth; }
+
+        public List<String> getRoles() { return roles; }
+        public void setRoles(List<String> roles) { this.roles = roles; }
+
+        public boolean isCacheable() { return cacheable; }
+        public void setCacheable(boolean cacheable) { this.cacheable = cacheable; }
+
+        public Duration getCacheTtl() { return cacheTtl; }
+        public void setCacheTtl(Duration cacheTtl) { this.cacheTtl = cacheTtl; }
+
+        public String getRateClass() { return rateClass; }
+        public void setRateClass(String rateClass) { this.rateClass = rateClass; }
+    }
+}
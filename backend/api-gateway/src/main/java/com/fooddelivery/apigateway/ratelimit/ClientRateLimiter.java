@@ -0,0 +1,88 @@
+package com.fooddelivery.apigateway.ratelimit;
+
+import com.fooddelivery.apigateway.policy.RoutePolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client admission control for each rate class in {@code gateway.rate-limit.classes}.
+ * Classes missing from config fall back to the "default" class.
+ */
+@Component
+public class ClientRateLimiter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TokenBucketTable table;
+
+    private Map<String, RateClass> rateClasses;
+
+    private RateClass defaultClass;
+
+    @PostConstruct
+    public void init() {
+        table = new TokenBucketTable(properties.getStripes(), properties.getMaxKeys());
+
+        int instances = Math.max(1, properties.getInstances());
+        rateClasses = new HashMap<>();
+        properties.getClasses().forEach((name, limit) ->
+                rateClasses.put(name, new RateClass(name, limit, instances, meterRegistry)));
+        defaultClass = rateClasses.computeIfAbsent(RoutePolicy.DEFAULT_RATE_CLASS,
+                name -> new RateClass(name, new RateLimitProperties.Limit(), instances, meterRegistry));
+
+        Gauge.builder("gateway.ratelimit.buckets", table, TokenBucketTable::size)
+                .description("Client token buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Returns 0 if the client may proceed, otherwise the nanoseconds until it may retry.
+     */
+    public long tryAcquire(String rateClass, String clientKey) {
+        RateClass limits = rateClasses.getOrDefault(rateClass, defaultClass);
+        long waitNanos = table.tryAcquire(limits.name + '|' + clientKey,
+                limits.intervalNanos, limits.capacity, System.nanoTime());
+        (waitNanos == 0 ? limits.allowed : limits.rejected).increment();
+        return waitNanos;
+    }
+
+    private static final class RateClass {
+        private final String name;
+        private final long intervalNanos;
+        private final long capacity;
+        private final Counter allowed;
+        private final Counter rejected;
+
+        RateClass(String name, RateLimitProperties.Limit limit, int instances, MeterRegistry meterRegistry) {
+            this.name = name;
+            double rate = limit.getReplenishRate() / instances;
+            this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+            this.capacity = Math.max(1, limit.getBurstCapacity() / instances);
+            this.allowed = counter(meterRegistry, name, "allowed");
+            this.rejected = counter(meterRegistry, name, "rejected");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String rateClass, String outcome) {
+            return Counter.builder("gateway.ratelimit.requests")
+                    .tag("rate_class", rateClass)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
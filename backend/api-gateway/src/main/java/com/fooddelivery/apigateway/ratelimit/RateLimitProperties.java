@@ -0,0 +1,52 @@
+package com.fooddelivery.apigateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Gateway replicas sharing the limit; each enforces its share (local stand-in for a shared store)
+    private int instances = 1;
+
+    private int stripes = 64;
+
+    private int maxKeys = 100000;
+
+    // Limits per rate class, referenced by gateway.route-policies[].rate-class
+    private Map<String, Limit> classes = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getInstances() { return instances; }
+    public void setInstances(int instances) { this.instances = instances; }
+
+    public int getStripes() { return stripes; }
+    public void setStripes(int stripes) { this.stripes = stripes; }
+
+    public int getMaxKeys() { return maxKeys; }
+    public void setMaxKeys(int maxKeys) { this.maxKeys = maxKeys; }
+
+    public Map<String, Limit> getClasses() { return classes; }
+    public void setClasses(Map<String, Limit> classes) { this.classes = classes; }
+
+    public static class Limit {
+        private double replenishRate = 10;
+        private int burstCapacity = 20;
+
+        // Getters and Setters
+        public double getReplenishRate() { return replenishRate; }
+        public void setReplenishRate(double replenishRate) { this.replenishRate = replenishRate; }
+
+        public int getBurstCapacity() { return burstCapacity; }
+        public void setBurstCapacity(int burstCapacity) { this.burstCapacity = burstCapacity; }
+    }
+}
@@ -0,0 +1,95 @@
+package com.fooddelivery.apigateway.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free token buckets keyed by client, split across independent stripes.
+ * Each bucket is a single {@link AtomicLong} holding its "theoretical arrival time" (GCRA),
+ * which is equivalent to a token bucket but refills and takes a token with one CAS.
+ * Buckets whose arrival time has passed are full, so they can be dropped without changing
+ * behaviour; a stripe over its key budget sweeps those out at most once per second.
+ */
+public final class TokenBucketTable {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLongArray nextSweepAt;
+    private final int mask;
+    private final int maxKeysPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketTable(int stripeCount, int maxKeys) {
+        // Smallest power of two >= stripeCount
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.nextSweepAt = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / size);
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @param intervalNanos nanoseconds to replenish one token (1s / replenish rate)
+     * @param capacity      bucket size, i.e. the burst allowed on an idle bucket
+     * @return 0 if the request is admitted, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long intervalNanos, long capacity, long nowNanos) {
+        AtomicLong bucket = bucket(key, nowNanos);
+        long tolerance = intervalNanos * capacity;
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long waitNanos = next - tolerance - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(String key, long nowNanos) {
+        int index = spread(key.hashCode()) & mask;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (stripe.size() >= maxKeysPerStripe) {
+            sweep(index, nowNanos);
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+    }
+
+    // Drop full buckets; at most one thread per stripe per interval does the scan.
+    // 0 means never swept: nanoTime may be negative, so it cannot stand for "due".
+    private void sweep(int index, long nowNanos) {
+        long scheduled = nextSweepAt.get(index);
+        if ((scheduled != 0 && nowNanos - scheduled < 0)
+                || !nextSweepAt.compareAndSet(index, scheduled, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        stripes[index].values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
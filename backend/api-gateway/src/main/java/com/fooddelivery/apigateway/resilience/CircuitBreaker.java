@@ -0,0 +1,124 @@
+package com.fooddelivery.apigateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free circuit breaker over a tumbling window of calls.
+ * CLOSED: calls flow; when a full window's failure rate reaches the threshold the breaker opens.
+ * OPEN: calls are rejected until the open duration has elapsed.
+ * HALF_OPEN: a fixed number of probe calls are let through; all succeeding closes the breaker,
+ * any failure opens it again.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final long CALL = 1L << 32;
+
+    private final int windowSize;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    // Calls in the high 32 bits, failures in the low 32 bits, so both update in one add
+    private final AtomicLong window = new AtomicLong();
+
+    private final AtomicInteger probesIssued = new AtomicInteger();
+    private final AtomicInteger probesSucceeded = new AtomicInteger();
+
+    private volatile long openedAtNanos;
+
+    public CircuitBreaker(int windowSize, int failureRateThreshold, long openDurationNanos, int halfOpenProbes) {
+        this.windowSize = Math.max(1, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * Returns whether a call may proceed. Every admitted call must be followed by exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (remainingOpenNanos() > 0) {
+                return false;
+            }
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        // Only count admitted probes, so rejected calls never hold a probe slot
+        while (true) {
+            int issued = probesIssued.get();
+            if (issued >= halfOpenProbes) {
+                return false;
+            }
+            if (probesIssued.compareAndSet(issued, issued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess() {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (probesSucceeded.incrementAndGet() >= halfOpenProbes
+                    && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                window.set(0);
+            }
+        } else if (current == State.CLOSED) {
+            record(0);
+        }
+    }
+
+    public void onFailure() {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            trip(State.HALF_OPEN);
+        } else if (current == State.CLOSED) {
+            record(1);
+        }
+    }
+
+    // The call ended without an outcome (e.g. client cancelled); hand back a half-open probe
+    public void onIgnored() {
+        if (state.get() == State.HALF_OPEN) {
+            probesIssued.decrementAndGet();
+        }
+    }
+
+    public State getState() {
+        State current = state.get();
+        return current == State.OPEN && remainingOpenNanos() <= 0 ? State.HALF_OPEN : current;
+    }
+
+    public long remainingOpenNanos() {
+        return openedAtNanos + openDurationNanos - System.nanoTime();
+    }
+
+    private void record(int failure) {
+        long value = window.addAndGet(CALL + failure);
+        long calls = value >>> 32;
+        if (calls < windowSize || !window.compareAndSet(value, 0)) {
+            return;
+        }
+        long failures = value & 0xFFFFFFFFL;
+        if (failures * 100 >= (long) failureRateThreshold * calls) {
+            trip(State.CLOSED);
+        }
+    }
+
+    private void trip(State from) {
+        probesIssued.set(0);
+        probesSucceeded.set(0);
+        openedAtNanos = System.nanoTime();
+        state.compareAndSet(from, State.OPEN);
+    }
+}
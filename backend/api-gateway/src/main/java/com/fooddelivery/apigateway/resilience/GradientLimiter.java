@@ -0,0 +1,103 @@
+package com.fooddelivery.apigateway.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-driven concurrency limit (gradient algorithm). A long-term average RTT is the
+ * baseline; when a sample is slower than the baseline, the ratio pulls the limit down, and when
+ * they match the limit grows by about sqrt(limit), so queueing at the service is detected
+ * before its latency collapses. Errors and timeouts cut the limit multiplicatively.
+ *
+ * Admission is lock-free; limit updates are cheap and synchronized.
+ */
+public final class GradientLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    private double longRttNanos;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the current limit are in flight.
+     * Lower-priority traffic passes a smaller share so it is shed first.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Releases a slot without feeding the limit (e.g. the client went away)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current, false);
+    }
+
+    public void onDropped() {
+        int current = inFlight.getAndDecrement();
+        update(0, current, true);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long sampleNanos, int inFlightAtCompletion, boolean dropped) {
+        double estimate = limit;
+        long rttNanos = Math.max(1, sampleNanos);
+        if (dropped) {
+            limit = Math.max(minLimit, estimate * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // Recover the baseline quickly after a sustained slowdown has inflated it
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Not using the limit, so latency says nothing about whether it could be higher
+        if (inFlightAtCompletion < estimate / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        double smoothed = estimate * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.min(maxLimit, Math.max(minLimit, smoothed));
+    }
+}
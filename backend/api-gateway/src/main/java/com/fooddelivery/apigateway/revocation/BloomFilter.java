@@ -0,0 +1,63 @@
+package com.fooddelivery.apigateway.revocation;
+
+/**
+ * Fixed-size Bloom filter over 64-bit hashes, sized for a 1% false-positive rate.
+ * Probes use double hashing on the two halves of the hash. Filled once, then read-only.
+ */
+final class BloomFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedEntries) {
+        int n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (m + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // splitmix64 finalizer; the salt keeps user ids and token ids in separate hash spaces
+    static long hashUserId(long userId) {
+        return mix(userId ^ 0x5A17_0000_0000_0001L);
+    }
+
+    static long hashTokenId(String tokenId) {
+        long hash = 0xcbf29ce484222325L; // FNV-1a 64
+        for (int i = 0; i < tokenId.length(); i++) {
+            hash ^= tokenId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
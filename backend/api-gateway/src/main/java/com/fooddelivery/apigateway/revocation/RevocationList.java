@@ -0,0 +1,253 @@
+package com.fooddelivery.apigateway.revocation;
+
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import com.fooddelivery.common.dto.RevocationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory denylist of revoked users and tokens, pulled from user-service.
+ * Checks run against an immutable snapshot: a Bloom filter answers "not revoked" for almost
+ * every request with a few bit probes, and only possible hits consult the exact maps.
+ * Each sync pulls entries newer than the last seen id; a periodic full pull rebuilds the
+ * snapshot from scratch, which also picks up any entry committed out of id order.
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationList.class);
+
+    private static final String SYNC_TOKEN_HEADER = "X-Revocation-Sync-Token";
+
+    private static final ParameterizedTypeReference<List<RevocationDTO>> PAGE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @Value("${gateway.revocation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.revocation.url}")
+    private String url;
+
+    @Value("${gateway.revocation.sync-token}")
+    private String syncToken;
+
+    @Value("${gateway.revocation.page-size:1000}")
+    private int pageSize;
+
+    @Value("${gateway.revocation.full-sync-interval:10m}")
+    private Duration fullSyncInterval;
+
+    @Value("${gateway.revocation.request-timeout:3s}")
+    private Duration requestTimeout;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebClient webClient;
+
+    private Counter rejected;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private long lastFullSyncMillis;
+
+    private int consecutiveFailures;
+
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+        rejected = Counter.builder("gateway.revocation.rejected")
+                .description("Requests rejected with a revoked token")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.entries", this, list -> list.snapshot.size())
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(JwtPrincipal principal) {
+        Snapshot current = snapshot;
+        if (current.isEmpty()) {
+            return false;
+        }
+
+        boolean revoked = current.revokesUser(principal.getUserId(), principal.getIssuedAt())
+                || current.revokesToken(principal.getTokenId());
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean full = now - lastFullSyncMillis >= fullSyncInterval.toMillis();
+        Snapshot base = full ? Snapshot.EMPTY : snapshot;
+        try {
+            Snapshot.Builder builder = base.toBuilder(now);
+            long cursor = base.cursor;
+            List<RevocationDTO> page;
+            do {
+                page = fetch(cursor);
+                for (RevocationDTO revocation : page) {
+                    builder.add(revocation);
+                    cursor = Math.max(cursor, revocation.getId());
+                }
+            } while (page.size() >= pageSize);
+
+            if (full || cursor != base.cursor || builder.pruned) {
+                snapshot = builder.build(cursor);
+            }
+            if (full) {
+                lastFullSyncMillis = now;
+            }
+            consecutiveFailures = 0;
+        } catch (RuntimeException e) {
+            // Keep enforcing the last snapshot; log once per outage
+            if (consecutiveFailures++ == 0) {
+                logger.warn("Revocation sync from {} failed: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    private List<RevocationDTO> fetch(long since) {
+        String uri = UriComponentsBuilder.fromHttpUrl(url)
+                .queryParam("since", since)
+                .queryParam("limit", pageSize)
+                .toUriString();
+        List<RevocationDTO> page = webClient.get()
+                .uri(uri)
+                .header(SYNC_TOKEN_HEADER, syncToken)
+                .retrieve()
+                .bodyToMono(PAGE_TYPE)
+                .block(requestTimeout);
+        return page != null ? page : List.of();
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new BloomFilter(1), Map.of(), Map.of(), 0);
+
+        private final BloomFilter bloom;
+        private final Map<Long, UserRevocation> users;
+        private final Map<String, Long> tokens; // token id -> expiresAt
+        private final long cursor;
+
+        Snapshot(BloomFilter bloom, Map<Long, UserRevocation> users, Map<String, Long> tokens, long cursor) {
+            this.bloom = bloom;
+            this.users = users;
+            this.tokens = tokens;
+            this.cursor = cursor;
+        }
+
+        boolean isEmpty() {
+            return users.isEmpty() && tokens.isEmpty();
+        }
+
+        int size() {
+            return users.size() + tokens.size();
+        }
+
+        boolean revokesUser(Long userId, Date issuedAt) {
+            if (userId == null || !bloom.mightContain(BloomFilter.hashUserId(userId))) {
+                return false;
+            }
+            UserRevocation revocation = users.get(userId);
+            return revocation != null && (issuedAt == null || issuedAt.getTime() < revocation.revokedAt);
+        }
+
+        boolean revokesToken(String tokenId) {
+            return tokenId != null
+                    && bloom.mightContain(BloomFilter.hashTokenId(tokenId))
+                    && tokens.containsKey(tokenId);
+        }
+
+        // Copies live entries so a delta can be applied without touching the published snapshot
+        Builder toBuilder(long now) {
+            Builder builder = new Builder(now);
+            users.forEach((userId, revocation) -> {
+                if (revocation.expiresAt > now) {
+                    builder.users.put(userId, revocation);
+                } else {
+                    builder.pruned = true;
+                }
+            });
+            tokens.forEach((tokenId, expiresAt) -> {
+                if (expiresAt > now) {
+                    builder.tokens.put(tokenId, expiresAt);
+                } else {
+                    builder.pruned = true;
+                }
+            });
+            return builder;
+        }
+
+        static final class Builder {
+            private final long now;
+            private final Map<Long, UserRevocation> users = new HashMap<>();
+            private final Map<String, Long> tokens = new HashMap<>();
+            private boolean pruned;
+
+            Builder(long now) {
+                this.now = now;
+            }
+
+            void add(RevocationDTO revocation) {
+                if (revocation.getExpiresAt() <= now) {
+                    return;
+                }
+                if (revocation.getType() == RevocationDTO.RevocationType.USER) {
+                    Long userId = Long.valueOf(revocation.getSubject());
+                    users.merge(userId, new UserRevocation(revocation.getRevokedAt(), revocation.getExpiresAt()),
+                            UserRevocation::latest);
+                } else {
+                    tokens.put(revocation.getSubject(), revocation.getExpiresAt());
+                }
+            }
+
+            Snapshot build(long cursor) {
+                BloomFilter bloom = new BloomFilter(users.size() + tokens.size());
+                users.keySet().forEach(userId -> bloom.put(BloomFilter.hashUserId(userId)));
+                tokens.keySet().forEach(tokenId -> bloom.put(BloomFilter.hashTokenId(tokenId)));
+                return new Snapshot(bloom, Map.copyOf(users), Map.copyOf(tokens), cursor);
+            }
+        }
+    }
+
+    private static final class UserRevocation {
+        private final long revokedAt;
+        private final long expiresAt;
+
+        UserRevocation(long revokedAt, long expiresAt) {
+            this.revokedAt = revokedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        static UserRevocation latest(UserRevocation a, UserRevocation b) {
+            return new UserRevocation(Math.max(a.revokedAt, b.revokedAt), Math.max(a.expiresAt, b.expiresAt));
+        }
+    }
+}
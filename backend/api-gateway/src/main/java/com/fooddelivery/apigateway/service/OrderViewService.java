@@ -0,0 +1,154 @@
+package com.fooddelivery.apigateway.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the full order view by calling the order, delivery and payment services in parallel.
+ * Each service authorizes the caller's own token, so the view never shows more than the three
+ * separate calls would. Delivery and payment are optional: if either fails the view is returned
+ * without it and the failure is listed under "errors".
+ */
+@Service
+public class OrderViewService {
+
+    @Value("${gateway.views.order-service-url:http://localhost:8082}")
+    private String orderServiceUrl;
+
+    @Value("${gateway.views.delivery-service-url:http://localhost:8083}")
+    private String deliveryServiceUrl;
+
+    @Value("${gateway.views.payment-service-url:http://localhost:8084}")
+    private String paymentServiceUrl;
+
+    @Value("${gateway.views.timeout:3s}")
+    private Duration timeout;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+    }
+
+    public Mono<OrderView> getOrderView(Long orderId, String authorization) {
+        Mono<Leg> order = fetch(orderServiceUrl + "/api/orders/" + orderId, authorization);
+        Mono<Leg> delivery = fetch(deliveryServiceUrl + "/api/deliveries/order/" + orderId, authorization);
+        Mono<Leg> payment = fetch(paymentServiceUrl + "/api/payments/order/" + orderId, authorization);
+
+        return Mono.zip(order, delivery, payment).map(legs -> {
+            Leg orderLeg = legs.getT1();
+            if (!orderLeg.isOk()) {
+                return OrderView.failed(orderLeg.status, orderLeg.error);
+            }
+
+            Map<String, Object> document = new LinkedHashMap<>();
+            Map<String, String> errors = new LinkedHashMap<>();
+            document.put("order", orderLeg.body);
+            document.put("delivery", legs.getT2().bodyOrRecordError("delivery", errors));
+            document.put("payment", legs.getT3().bodyOrRecordError("payment", errors));
+            if (!errors.isEmpty()) {
+                document.put("errors", errors);
+            }
+            return OrderView.ok(document);
+        });
+    }
+
+    // Never errors: failures become a Leg carrying the status and message
+    private Mono<Leg> fetch(String url, String authorization) {
+        return webClient.get()
+                .uri(url)
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> toLeg(response.statusCode(), body)))
+                .timeout(timeout)
+                .onErrorResume(e -> Mono.just(e instanceof TimeoutException
+                        ? Leg.failed(HttpStatus.GATEWAY_TIMEOUT, "Timed out after " + timeout.toMillis() + "ms")
+                        : Leg.failed(HttpStatus.BAD_GATEWAY, "Service unavailable")));
+    }
+
+    private Leg toLeg(HttpStatusCode status, String body) {
+        if (!status.is2xxSuccessful()) {
+            return Leg.failed(status, body);
+        }
+        try {
+            return new Leg(status, objectMapper.readTree(body), null);
+        } catch (JsonProcessingException e) {
+            return Leg.failed(HttpStatus.BAD_GATEWAY, "Invalid response body");
+        }
+    }
+
+    private static final class Leg {
+        private final HttpStatusCode status;
+        private final JsonNode body;
+        private final String error;
+
+        Leg(HttpStatusCode status, JsonNode body, String error) {
+            this.status = status;
+            this.body = body;
+            this.error = error;
+        }
+
+        static Leg failed(HttpStatusCode status, String error) {
+            return new Leg(status, null, error);
+        }
+
+        boolean isOk() {
+            return error == null;
+        }
+
+        JsonNode bodyOrRecordError(String name, Map<String, String> errors) {
+            if (!isOk()) {
+                errors.put(name, error);
+            }
+            return body;
+        }
+    }
+
+    public static final class OrderView {
+        private final HttpStatusCode status;
+        private final Object body;
+
+        private OrderView(HttpStatusCode status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static OrderView ok(Map<String, Object> document) {
+            return new OrderView(HttpStatus.OK, document);
+        }
+
+        static OrderView failed(HttpStatusCode status, String error) {
+            return new OrderView(status, Map.of("error", error));
+        }
+
+        // Getters
+        public HttpStatusCode getStatus() { return status; }
+
+        public Object getBody() { return body; }
+    }
+}
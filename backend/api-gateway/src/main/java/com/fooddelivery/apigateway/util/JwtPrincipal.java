@@ -0,0 +1,39 @@
+package com.fooddelivery.apigateway.util;
+
+import java.util.Date;
+
+/**
+ * Identity extracted from a JWT whose signature and expiry have already been verified.
+ * Produced by a single parse in {@link JwtUtil#verifyToken(String)}.
+ */
+public final class JwtPrincipal {
+
+    private final String username;
+    private final String role;
+    private final Long userId;
+    private final Date expiration;
+    private final Date issuedAt;
+    private final String tokenId;
+
+    public JwtPrincipal(String username, String role, Long userId, Date expiration, Date issuedAt, String tokenId) {
+        this.username = username;
+        this.role = role;
+        this.userId = userId;
+        this.expiration = expiration;
+        this.issuedAt = issuedAt;
+        this.tokenId = tokenId;
+    }
+
+    // Getters
+    public String getUsername() { return username; }
+
+    public String getRole() { return role; }
+
+    public Long getUserId() { return userId; }
+
+    public Date getExpiration() { return expiration; }
+
+    public Date getIssuedAt() { return issuedAt; }
+
+    public String getTokenId() { return tokenId; }
+}
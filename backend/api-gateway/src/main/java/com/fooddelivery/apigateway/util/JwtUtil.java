@@ -1,11 +1,11 @@
 package com.fooddelivery.apigateway.util;
 
+import com.fooddelivery.common.security.JwtTokenVerifier;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.function.Function;
 
@@ -15,8 +15,12 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Shared verifier holds the cached signing key and parser
+    private JwtTokenVerifier tokenVerifier;
+
+    @PostConstruct
+    public void init() {
+        tokenVerifier = new JwtTokenVerifier(secret);
     }
 
     public String extractUsername(String token) {
@@ -41,26 +45,34 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return tokenVerifier.parseClaims(token);
     }
 
-    public Boolean validateToken(String token) {
+    /**
+     * Verifies signature and expiry with a single parse and returns every claim the
+     * gateway forwards downstream. Returns {@code null} for invalid or expired tokens.
+     */
+    public JwtPrincipal verifyToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
+            Claims claims = extractAllClaims(token);
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) {
+                return null;
+            }
+            return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                expiration,
+                claims.getIssuedAt(),
+                claims.getId()
+            );
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
+
+    public Boolean validateToken(String token) {
+        return verifyToken(token) != null;
+    }
 }
@@ -0,0 +1,95 @@
+package com.fooddelivery.apigateway.benchmark;
+
+import com.fooddelivery.apigateway.util.JwtPrincipal;
+import com.fooddelivery.apigateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in the gateway filter.
+ * {@code legacyPerRequest} reproduces the old path (validate, expiry check and three
+ * extractions, each rebuilding the key and parser); {@code singleParse} is the
+ * current {@link JwtUtil#verifyToken(String)} path.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.fooddelivery.apigateway.benchmark.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        jwtUtil.init();
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", 42L);
+        claims.put("role", "CUSTOMER");
+        token = Jwts.builder()
+                .setClaims(claims)
+                .setSubject("customer@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86400000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        Claims validated = legacyParse(token);
+        if (legacyParse(token).getExpiration().before(new Date())) {
+            throw new IllegalStateException("Token expired");
+        }
+        blackhole.consume(validated);
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role", String.class));
+        blackhole.consume(legacyParse(token).get("userId", Long.class));
+    }
+
+    @Benchmark
+    public JwtPrincipal singleParse() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
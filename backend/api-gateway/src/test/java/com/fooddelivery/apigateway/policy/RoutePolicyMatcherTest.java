@@ -0,0 +1,164 @@
+package com.fooddelivery.apigateway.policy;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Resolves paths against the shipped {@code gateway.route-policies} and checks the result
+ * against the hand-written public-path rule the table replaced.
+ */
+class RoutePolicyMatcherTest {
+
+    // Paths where the table deliberately differs from the old rule, with the auth mode it now gives
+    private static final Map<String, AuthMode> CHANGED_SINCE_OLD_RULE = Map.of(
+            // Prefixes now end on a segment boundary instead of matching any continuation
+            "/api/restaurantsX", AuthMode.TOKEN,
+            "/api/restaurants-admin", AuthMode.TOKEN,
+            // Only /api/restaurants/my-restaurants exists; the old rule protected any path containing it
+            "/api/restaurants/7/my-restaurants", AuthMode.PUBLIC,
+            "/api/restaurants/my-restaurantsX", AuthMode.PUBLIC,
+            // Registration with a trailing slash; Spring MVC does not map it
+            "/api/users/register/", AuthMode.PUBLIC,
+            // Dish search was opened to anonymous callers after the old rule was replaced
+            "/api/menu/search", AuthMode.PUBLIC);
+
+    private static RoutePolicyMatcher matcher;
+
+    @BeforeAll
+    static void loadShippedPolicies() throws IOException {
+        matcher = matcher(new Binder(ConfigurationPropertySources.from(new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"))))
+                .bind("gateway", RoutePolicyProperties.class)
+                .get());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/auth/login,                        PUBLIC, auth",
+            "/api/auth/register,                     PUBLIC, auth",
+            "/api/auth,                              TOKEN,  default",
+            "/api/users/register,                    PUBLIC, default",
+            "/api/users/registerX,                   TOKEN,  default",
+            "/api/users/7,                           TOKEN,  default",
+            "/actuator/health,                       PUBLIC, default",
+            "/actuator,                              TOKEN,  default",
+            "/api/restaurants,                       PUBLIC, browse",
+            "/api/restaurants/,                      PUBLIC, browse",
+            "/api/restaurants/7,                     PUBLIC, browse",
+            "/api/restaurants/search,                PUBLIC, browse",
+            "/api/restaurants/my-restaurants,        TOKEN,  default",
+            "/api/restaurants/my-restaurants/,       TOKEN,  default",
+            "/api/restaurants/my-restaurants/7,      TOKEN,  default",
+            "/api/restaurantsX,                      TOKEN,  default",
+            "/api/menu/restaurant/7,                 PUBLIC, browse",
+            "/api/menu/restaurant,                   TOKEN,  default",
+            "/api/menu/search,                       PUBLIC, browse",
+            "/api/menu/7,                            TOKEN,  default",
+            "/api/deliveries/track/9,                PUBLIC, default",
+            "/api/deliveries/unassigned,             TOKEN,  poll",
+            "/api/deliveries/7,                      TOKEN,  default",
+            "/api/orders/my-orders,                  TOKEN,  poll",
+            "/api/orders/7,                          TOKEN,  default",
+            "/api/admin,                             ROLE,   default",
+            "/api/admin/,                            ROLE,   default",
+            "/api/admin/users,                       ROLE,   default",
+            "/api/admin/users/import,                ROLE,   default",
+            "/api/adminX,                            TOKEN,  default",
+            "/api/payments/7,                        TOKEN,  default",
+            "/API/restaurants,                       TOKEN,  default",
+            "/,                                      TOKEN,  default",
+            "'',                                     TOKEN,  default"
+    })
+    void resolvesShippedPolicies(String path, AuthMode auth, String rateClass) {
+        RoutePolicy policy = matcher.match(path);
+        assertEquals(auth, policy.getAuthMode(), path);
+        assertEquals(rateClass, policy.getRateClass(), path);
+        if (auth == AuthMode.ROLE) {
+            assertEquals(Set.of("ADMIN"), policy.getRoles(), path);
+            assertFalse(policy.allowsRole("CUSTOMER"), path);
+        }
+        if (auth != AuthMode.PUBLIC) {
+            // Responses for authenticated callers must never land in the shared cache
+            assertFalse(policy.isCacheable(), path);
+        }
+        assertEquals(expectedByOldRule(path), policy.isPublic(), path);
+    }
+
+    @Test
+    void documentedDifferencesFromTheOldRule() {
+        CHANGED_SINCE_OLD_RULE.forEach((path, auth) -> {
+            assertEquals(auth, matcher.match(path).getAuthMode(), path);
+            assertEquals(!isPublicEndpoint(path), matcher.match(path).isPublic(), path);
+        });
+    }
+
+    @Test
+    void longestPrefixOnASegmentBoundaryWins() {
+        RoutePolicyMatcher nested = matcher(properties(
+                entry("/a", AuthMode.PUBLIC), entry("/a/b", AuthMode.TOKEN), entry("/a/b/c/", AuthMode.ROLE)));
+        assertEquals(AuthMode.PUBLIC, nested.match("/a").getAuthMode());
+        assertEquals(AuthMode.PUBLIC, nested.match("/a/bc").getAuthMode());
+        assertEquals(AuthMode.TOKEN, nested.match("/a/b").getAuthMode());
+        assertEquals(AuthMode.TOKEN, nested.match("/a/b/c").getAuthMode());
+        assertEquals(AuthMode.ROLE, nested.match("/a/b/c/d").getAuthMode());
+        assertEquals(RoutePolicy.DEFAULT, nested.match("/ab"));
+    }
+
+    @Test
+    void rejectsInvalidTables() {
+        assertThrows(IllegalStateException.class, () -> matcher(properties(entry("api", AuthMode.PUBLIC))));
+        assertThrows(IllegalStateException.class,
+                () -> matcher(properties(entry("/api", AuthMode.PUBLIC), entry("/api", AuthMode.TOKEN))));
+    }
+
+    private static boolean expectedByOldRule(String path) {
+        AuthMode changed = CHANGED_SINCE_OLD_RULE.get(path);
+        return changed != null ? changed == AuthMode.PUBLIC : isPublicEndpoint(path);
+    }
+
+    // JwtAuthenticationFilter's rule before the policy table
+    private static boolean isPublicEndpoint(String path) {
+        return path.startsWith("/api/auth/") ||
+               path.equals("/api/users/register") ||
+               path.startsWith("/actuator/") ||
+               path.startsWith("/api/restaurants") && !path.contains("/my-restaurants") ||
+               path.startsWith("/api/menu/restaurant/") ||
+               path.startsWith("/api/deliveries/track/");
+    }
+
+    private static RoutePolicyMatcher matcher(RoutePolicyProperties properties) {
+        RoutePolicyMatcher matcher = new RoutePolicyMatcher();
+        ReflectionTestUtils.setField(matcher, "properties", properties);
+        matcher.init();
+        return matcher;
+    }
+
+    private static RoutePolicyProperties properties(RoutePolicyProperties.Entry... entries) {
+        RoutePolicyProperties properties = new RoutePolicyProperties();
+        properties.getRoutePolicies().addAll(List.of(entries));
+        return properties;
+    }
+
+    private static RoutePolicyProperties.Entry entry(String prefix, AuthMode auth) {
+        RoutePolicyProperties.Entry entry = new RoutePolicyProperties.Entry();
+        entry.setPrefix(prefix);
+        entry.setAuth(auth);
+        return entry;
+    }
+}
@@ -0,0 +1,134 @@
+package com.fooddelivery.apigateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives {@link TokenBucketTable} with explicit timestamps, so refill and eviction are exact.
+ */
+class TokenBucketTableTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // 10 requests per second, bursts of 5
+    private static final long INTERVAL = SECOND / 10;
+    private static final long CAPACITY = 5;
+
+    private final TokenBucketTable table = new TokenBucketTable(1, 1000);
+
+    @Test
+    void idleBucketAdmitsABurstOfCapacity() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, table.tryAcquire("client", INTERVAL, CAPACITY, 0));
+        }
+        assertEquals(INTERVAL, table.tryAcquire("client", INTERVAL, CAPACITY, 0));
+        // A rejected call takes nothing, so the wait does not grow
+        assertEquals(INTERVAL, table.tryAcquire("client", INTERVAL, CAPACITY, 0));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        drain("client", 0);
+        assertEquals(0, table.tryAcquire("client", INTERVAL, CAPACITY, INTERVAL));
+        assertEquals(INTERVAL, table.tryAcquire("client", INTERVAL, CAPACITY, INTERVAL));
+
+        // Two and a half intervals later two tokens are back and the third is half an interval away
+        long now = INTERVAL + 5 * INTERVAL / 2;
+        assertEquals(0, table.tryAcquire("client", INTERVAL, CAPACITY, now));
+        assertEquals(0, table.tryAcquire("client", INTERVAL, CAPACITY, now));
+        assertEquals(INTERVAL / 2, table.tryAcquire("client", INTERVAL, CAPACITY, now));
+    }
+
+    @Test
+    void waitIsExactlyTheTimeUntilTheNextToken() {
+        drain("client", 0);
+        long now = INTERVAL / 3;
+        long wait = table.tryAcquire("client", INTERVAL, CAPACITY, now);
+        assertEquals(INTERVAL - now, wait);
+        assertEquals(1, table.tryAcquire("client", INTERVAL, CAPACITY, now + wait - 1));
+        assertEquals(0, table.tryAcquire("client", INTERVAL, CAPACITY, now + wait));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        drain("client", 0);
+        long now = 100 * SECOND;
+        assertEquals(CAPACITY, admitted("client", now));
+    }
+
+    @Test
+    void sustainedRateMatchesTheReplenishRate() {
+        long admitted = 0;
+        // One attempt every millisecond for ten seconds: the burst plus ten per second
+        for (long now = 0; now < 10 * SECOND; now += SECOND / 1000) {
+            if (table.tryAcquire("client", INTERVAL, CAPACITY, now) == 0) {
+                admitted++;
+            }
+        }
+        assertEquals(CAPACITY + 10 * 10 - 1, admitted);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        drain("first", 0);
+        assertEquals(CAPACITY, admitted("second", 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, -50 * SECOND, Long.MAX_VALUE - 20 * SECOND})
+    void idleKeysAreEvictedAndComeBackFull(long start) {
+        TokenBucketTable small = new TokenBucketTable(1, 2);
+        drain(small, "idle", start);
+        drain(small, "busy", start);
+
+        // Over budget before either has refilled: nothing can be dropped
+        small.tryAcquire("third", INTERVAL, CAPACITY, start + INTERVAL / 2);
+        assertEquals(3, small.size());
+        assertEquals(INTERVAL / 2, small.tryAcquire("idle", INTERVAL, CAPACITY, start + INTERVAL / 2));
+
+        // A second later "idle" is full again while "busy" keeps draining
+        long later = start + 2 * SECOND;
+        drain(small, "busy", later);
+        small.tryAcquire("fourth", INTERVAL, CAPACITY, later);
+        assertEquals(2, small.size());
+        assertEquals(CAPACITY, admitted(small, "idle", later));
+        assertEquals(INTERVAL, small.tryAcquire("busy", INTERVAL, CAPACITY, later));
+    }
+
+    @Test
+    void sweepsAtMostOncePerInterval() {
+        TokenBucketTable small = new TokenBucketTable(1, 1);
+        small.tryAcquire("a", INTERVAL, CAPACITY, 0);
+        small.tryAcquire("b", INTERVAL, CAPACITY, SECOND);
+        assertEquals(1, small.size());
+        // Within a second of the last sweep the stripe grows past its budget instead of scanning
+        small.tryAcquire("c", INTERVAL, CAPACITY, SECOND + INTERVAL * CAPACITY);
+        assertEquals(2, small.size());
+        small.tryAcquire("d", INTERVAL, CAPACITY, 2 * SECOND + INTERVAL * CAPACITY);
+        assertEquals(1, small.size());
+    }
+
+    private void drain(String key, long now) {
+        drain(table, key, now);
+    }
+
+    private static void drain(TokenBucketTable table, String key, long now) {
+        while (table.tryAcquire(key, INTERVAL, CAPACITY, now) == 0) {
+            // take every token available at this instant
+        }
+    }
+
+    private long admitted(String key, long now) {
+        return admitted(table, key, now);
+    }
+
+    private static long admitted(TokenBucketTable table, String key, long now) {
+        long admitted = 0;
+        while (table.tryAcquire(key, INTERVAL, CAPACITY, now) == 0) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fooddelivery.apigateway.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final int PROBES = 3;
+
+    // Zero open duration: the breaker moves to HALF_OPEN on the next call after tripping
+    private static CircuitBreaker trippedBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 50, 0, PROBES);
+        breaker.onFailure();
+        breaker.onFailure();
+        return breaker;
+    }
+
+    @Test
+    void cancelledProbeIsReplacedAfterRejections() {
+        CircuitBreaker breaker = trippedBreaker();
+        for (int i = 0; i < PROBES; i++) {
+            assertTrue(breaker.tryAcquire());
+        }
+        for (int i = 0; i < 10; i++) {
+            assertFalse(breaker.tryAcquire());
+        }
+
+        breaker.onIgnored();
+        assertTrue(breaker.tryAcquire(), "the cancelled probe's slot is reissued");
+        assertFalse(breaker.tryAcquire(), "only the cancelled slot is reissued");
+
+        for (int i = 0; i < PROBES; i++) {
+            breaker.onSuccess();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void closesWhenProbeIsCancelledDuringConcurrentRejections() throws Exception {
+        CircuitBreaker breaker = trippedBreaker();
+        for (int i = 0; i < PROBES; i++) {
+            assertTrue(breaker.tryAcquire());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(4);
+        try {
+            // Rejected callers hammer the breaker; any call they do get admitted finishes successfully
+            Future<?>[] callers = new Future<?>[4];
+            for (int t = 0; t < callers.length; t++) {
+                callers[t] = executor.submit(() -> {
+                    started.countDown();
+                    while (!stop.get()) {
+                        if (breaker.tryAcquire()) {
+                            breaker.onSuccess();
+                        }
+                    }
+                });
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // One admitted probe is cancelled, the others succeed
+            breaker.onIgnored();
+            for (int i = 0; i < PROBES - 1; i++) {
+                breaker.onSuccess();
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (breaker.getState() != CircuitBreaker.State.CLOSED && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            stop.set(true);
+            for (Future<?> caller : callers) {
+                caller.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -1,6 +1,8 @@
 package com.fooddelivery.common.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -16,6 +18,12 @@ public class RestaurantDTO {
     @NotBlank
     private String address;
     
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double latitude;
+    
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double longitude;
+    
     private String phone;
     
     private String email;
@@ -80,6 +88,12 @@ public class RestaurantDTO {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
 
@@ -0,0 +1,50 @@
+package com.fooddelivery.common.dto;
+
+/**
+ * A revoked user or token, as published by user-service to the gateway's denylist.
+ * Times are epoch milliseconds. A USER entry revokes every token of that user issued before
+ * {@code revokedAt}; a TOKEN entry revokes the single token whose id (jti) is {@code subject}.
+ */
+public class RevocationDTO {
+    private Long id;
+
+    private RevocationType type;
+
+    private String subject;
+
+    private long revokedAt;
+
+    private long expiresAt;
+
+    // Constructors
+    public RevocationDTO() {}
+
+    public RevocationDTO(Long id, RevocationType type, String subject, long revokedAt, long expiresAt) {
+        this.id = id;
+        this.type = type;
+        this.subject = subject;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public RevocationType getType() { return type; }
+    public void setType(RevocationType type) { this.type = type; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public long getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(long revokedAt) { this.revokedAt = revokedAt; }
+
+    public long getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(long expiresAt) { this.expiresAt = expiresAt; }
+
+    public enum RevocationType {
+        USER,
+        TOKEN
+    }
+}
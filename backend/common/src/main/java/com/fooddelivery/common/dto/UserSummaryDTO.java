@@ -0,0 +1,44 @@
+package com.fooddelivery.common.dto;
+
+/**
+ * Compact view of a user for enriching lists in other services (order, delivery and admin
+ * pages), as returned by user-service's batch lookup.
+ */
+public class UserSummaryDTO {
+    private Long id;
+
+    private String name;
+
+    private String phone;
+
+    private UserDTO.UserRole role;
+
+    private boolean active;
+
+    // Constructors
+    public UserSummaryDTO() {}
+
+    public UserSummaryDTO(Long id, String name, String phone, UserDTO.UserRole role, boolean active) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.role = role;
+        this.active = active;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public UserDTO.UserRole getRole() { return role; }
+    public void setRole(UserDTO.UserRole role) { this.role = role; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
@@ -0,0 +1,45 @@
+package com.fooddelivery.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers the shared JWT verifier and the {@link AuthenticatedUser} argument resolver.
+ * Servlet-based services opt in with {@code @Import(AuthWebConfiguration.class)}.
+ */
+@Configuration
+public class AuthWebConfiguration implements WebMvcConfigurer {
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${identity.headers.enabled:false}")
+    private boolean identityHeadersEnabled;
+
+    @Value("${identity.headers.secret:}")
+    private String identityHeaderSecret;
+
+    @Value("${identity.headers.max-age-ms:60000}")
+    private long identityMaxAgeMillis;
+
+    @Bean
+    public JwtTokenVerifier jwtTokenVerifier() {
+        return new JwtTokenVerifier(jwtSecret);
+    }
+
+    @Bean
+    public AuthenticatedUserArgumentResolver authenticatedUserArgumentResolver() {
+        IdentityHeaders identityHeaders = identityHeadersEnabled ? new IdentityHeaders(identityHeaderSecret) : null;
+        return new AuthenticatedUserArgumentResolver(jwtTokenVerifier(), identityHeaders, identityMaxAgeMillis);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(authenticatedUserArgumentResolver());
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.common.security;
+
+import com.fooddelivery.common.dto.UserDTO;
+
+/**
+ * Immutable caller identity resolved once per request, either from gateway-signed identity
+ * headers or from a single JWT parse. Injected into controller methods by
+ * {@link AuthenticatedUserArgumentResolver}.
+ */
+public final class AuthenticatedUser {
+
+    // Request attribute under which the resolved user is memoised
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private final Long id;
+    private final String email;
+    private final UserDTO.UserRole role;
+
+    public AuthenticatedUser(Long id, String email, UserDTO.UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+    }
+
+    public boolean hasRole(UserDTO.UserRole expected) {
+        return role == expected;
+    }
+
+    public boolean hasAnyRole(UserDTO.UserRole... expected) {
+        for (UserDTO.UserRole candidate : expected) {
+            if (role == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isAdmin() {
+        return role == UserDTO.UserRole.ADMIN;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public UserDTO.UserRole getRole() { return role; }
+}
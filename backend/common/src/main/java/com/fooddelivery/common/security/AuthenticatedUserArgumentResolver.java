@@ -0,0 +1,77 @@
+package com.fooddelivery.common.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolves {@link AuthenticatedUser} controller parameters. Gateway-signed identity headers are
+ * preferred when enabled; otherwise the bearer token is parsed once. The result is memoised as a
+ * request attribute so further lookups in the same request are free.
+ */
+public class AuthenticatedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenVerifier tokenVerifier;
+    private final IdentityHeaders identityHeaders;
+    private final long identityMaxAgeMillis;
+
+    public AuthenticatedUserArgumentResolver(JwtTokenVerifier tokenVerifier,
+                                             IdentityHeaders identityHeaders,
+                                             long identityMaxAgeMillis) {
+        this.tokenVerifier = tokenVerifier;
+        this.identityHeaders = identityHeaders;
+        this.identityMaxAgeMillis = identityMaxAgeMillis;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return AuthenticatedUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        if (user == null) {
+            user = resolve(request);
+            if (user == null) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing or invalid credentials");
+            }
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+        }
+        return user;
+    }
+
+    private AuthenticatedUser resolve(HttpServletRequest request) {
+        // Trust the gateway's signed identity headers when enabled and present
+        if (identityHeaders != null && request.getHeader(IdentityHeaders.SIGNATURE) != null) {
+            AuthenticatedUser user = identityHeaders.verify(
+                request.getHeader(IdentityHeaders.USER_ID),
+                request.getHeader(IdentityHeaders.USER_EMAIL),
+                request.getHeader(IdentityHeaders.USER_ROLE),
+                request.getHeader(IdentityHeaders.TIMESTAMP),
+                request.getHeader(IdentityHeaders.SIGNATURE),
+                identityMaxAgeMillis
+            );
+            if (user != null) {
+                return user;
+            }
+        }
+
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return tokenVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.fooddelivery.common.security;
+
+import com.fooddelivery.common.dto.UserDTO;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs and verifies the identity headers the API gateway forwards to downstream services.
+ * The MAC covers user id, email, role and a timestamp, so services can trust the headers
+ * without re-parsing the JWT. Instances are thread-safe.
+ */
+public class IdentityHeaders {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String TIMESTAMP = "X-User-Timestamp";
+    public static final String SIGNATURE = "X-User-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityHeaders(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("Identity header secret must not be empty");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialise " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public String sign(String userId, String email, String role, long timestamp) {
+        byte[] signature = mac.get().doFinal(payload(userId, email, role, Long.toString(timestamp)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    /**
+     * Returns the user carried by the headers, or {@code null} if any header is missing,
+     * the signature does not match, or the timestamp is older than {@code maxAgeMillis}.
+     */
+    public AuthenticatedUser verify(String userId, String email, String role,
+                                  String timestamp, String signature, long maxAgeMillis) {
+        if (userId == null || email == null || role == null || timestamp == null || signature == null) {
+            return null;
+        }
+
+        try {
+            long issuedAt = Long.parseLong(timestamp);
+            long age = System.currentTimeMillis() - issuedAt;
+            if (age < -maxAgeMillis || age > maxAgeMillis) {
+                return null;
+            }
+
+            byte[] expected = mac.get().doFinal(payload(userId, email, role, timestamp));
+            byte[] actual = Base64.getUrlDecoder().decode(signature);
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            return new AuthenticatedUser(Long.valueOf(userId), email, UserDTO.UserRole.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] payload(String userId, String email, String role, String timestamp) {
+        return (userId + '\n' + email + '\n' + role + '\n' + timestamp).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fooddelivery.common.security;
+
+import com.fooddelivery.common.dto.UserDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Shared JWT verification: the signing key and parser are built once and reused by every
+ * request, and each call verifies signature and expiry with a single parse. Thread-safe.
+ */
+public class JwtTokenVerifier {
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtTokenVerifier(String secret) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies the token and returns its claims.
+     *
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Returns the user carried by the token, or {@code null} if the token is invalid, expired
+     * or lacks the userId/role claims.
+     */
+    public AuthenticatedUser verify(String token) {
+        try {
+            Claims claims = parseClaims(token);
+            Long userId = claims.get("userId", Long.class);
+            String role = claims.get("role", String.class);
+            if (userId == null || role == null) {
+                return null;
+            }
+            return new AuthenticatedUser(userId, claims.getSubject(), UserDTO.UserRole.valueOf(role));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
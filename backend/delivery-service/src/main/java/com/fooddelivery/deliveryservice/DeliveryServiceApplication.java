@@ -1,9 +1,12 @@
 package com.fooddelivery.deliveryservice;
 
+import com.fooddelivery.common.security.AuthWebConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(AuthWebConfiguration.class)
 public class DeliveryServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(DeliveryServiceApplication.class, args);
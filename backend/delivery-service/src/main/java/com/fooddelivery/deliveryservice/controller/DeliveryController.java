@@ -1,8 +1,9 @@
 package com.fooddelivery.deliveryservice.controller;
 
 import com.fooddelivery.common.dto.DeliveryDTO;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.deliveryservice.service.DeliveryService;
-import com.fooddelivery.deliveryservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,17 +20,11 @@ public class DeliveryController {
     @Autowired
     private DeliveryService deliveryService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping
     public ResponseEntity<?> createDelivery(@Valid @RequestBody DeliveryDTO deliveryDTO,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !"RESTAURANT".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.ADMIN, UserDTO.UserRole.RESTAURANT)) {
                 return ResponseEntity.badRequest().body("Only admins and restaurants can create deliveries");
             }
 
@@ -42,19 +37,15 @@ public class DeliveryController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getDeliveryById(@PathVariable Long id,
-                                           @RequestHeader("Authorization") String authHeader) {
+                                           AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             DeliveryDTO delivery = deliveryService.getDeliveryById(id)
                     .orElseThrow(() -> new RuntimeException("Delivery not found"));
 
             // Check authorization
-            if (!"ADMIN".equals(role) && 
-                !"DELIVERY".equals(role) && 
-                !deliveryService.isDeliveryAssignedToPerson(id, userId)) {
+            if (!user.isAdmin() && 
+                !user.hasRole(UserDTO.UserRole.DELIVERY) && 
+                !deliveryService.isDeliveryAssignedToPerson(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view this delivery");
             }
 
@@ -87,17 +78,13 @@ public class DeliveryController {
     }
 
     @GetMapping("/my-deliveries")
-    public ResponseEntity<?> getMyDeliveries(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyDeliveries(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Only delivery personnel can view their deliveries");
             }
 
-            List<DeliveryDTO> deliveries = deliveryService.getDeliveriesByPerson(userId);
+            List<DeliveryDTO> deliveries = deliveryService.getDeliveriesByPerson(user.getId());
             return ResponseEntity.ok(deliveries);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get deliveries: " + e.getMessage());
@@ -105,17 +92,13 @@ public class DeliveryController {
     }
 
     @GetMapping("/my-active-deliveries")
-    public ResponseEntity<?> getMyActiveDeliveries(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyActiveDeliveries(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Only delivery personnel can view their active deliveries");
             }
 
-            List<DeliveryDTO> deliveries = deliveryService.getActiveDeliveriesByPerson(userId);
+            List<DeliveryDTO> deliveries = deliveryService.getActiveDeliveriesByPerson(user.getId());
             return ResponseEntity.ok(deliveries);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get active deliveries: " + e.getMessage());
@@ -123,12 +106,9 @@ public class DeliveryController {
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<?> getPendingDeliveries(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getPendingDeliveries(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !"DELIVERY".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.ADMIN, UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Not authorized to view pending deliveries");
             }
 
@@ -140,12 +120,9 @@ public class DeliveryController {
     }
 
     @GetMapping("/unassigned")
-    public ResponseEntity<?> getUnassignedDeliveries(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getUnassignedDeliveries(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !"DELIVERY".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.ADMIN, UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Not authorized to view unassigned deliveries");
             }
 
@@ -159,12 +136,9 @@ public class DeliveryController {
     @PutMapping("/{id}/assign")
     public ResponseEntity<?> assignDelivery(@PathVariable Long id,
                                           @RequestParam Long deliveryPersonId,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can assign deliveries");
             }
 
@@ -177,17 +151,13 @@ public class DeliveryController {
 
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptDelivery(@PathVariable Long id,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Only delivery personnel can accept deliveries");
             }
 
-            DeliveryDTO updatedDelivery = deliveryService.assignDeliveryPerson(id, userId);
+            DeliveryDTO updatedDelivery = deliveryService.assignDeliveryPerson(id, user.getId());
             return ResponseEntity.ok(updatedDelivery);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to accept delivery: " + e.getMessage());
@@ -197,14 +167,10 @@ public class DeliveryController {
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateDeliveryStatus(@PathVariable Long id,
                                                 @RequestParam DeliveryDTO.DeliveryStatus status,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && 
-                (!"DELIVERY".equals(role) || !deliveryService.isDeliveryAssignedToPerson(id, userId))) {
+            if (!user.isAdmin() && 
+                (!user.hasRole(UserDTO.UserRole.DELIVERY) || !deliveryService.isDeliveryAssignedToPerson(id, user.getId()))) {
                 return ResponseEntity.badRequest().body("Not authorized to update this delivery");
             }
 
@@ -219,13 +185,9 @@ public class DeliveryController {
     public ResponseEntity<?> updateLocation(@PathVariable Long id,
                                           @RequestParam Double latitude,
                                           @RequestParam Double longitude,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role) || !deliveryService.isDeliveryAssignedToPerson(id, userId)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY) || !deliveryService.isDeliveryAssignedToPerson(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to update location for this delivery");
             }
 
@@ -239,14 +201,10 @@ public class DeliveryController {
     @PutMapping("/{id}/estimated-time")
     public ResponseEntity<?> updateEstimatedTime(@PathVariable Long id,
                                                @RequestParam String estimatedTime,
-                                               @RequestHeader("Authorization") String authHeader) {
+                                               AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && 
-                (!"DELIVERY".equals(role) || !deliveryService.isDeliveryAssignedToPerson(id, userId))) {
+            if (!user.isAdmin() && 
+                (!user.hasRole(UserDTO.UserRole.DELIVERY) || !deliveryService.isDeliveryAssignedToPerson(id, user.getId()))) {
                 return ResponseEntity.badRequest().body("Not authorized to update estimated time");
             }
 
@@ -261,13 +219,9 @@ public class DeliveryController {
     @PutMapping("/{id}/notes")
     public ResponseEntity<?> addDeliveryNotes(@PathVariable Long id,
                                             @RequestParam String notes,
-                                            @RequestHeader("Authorization") String authHeader) {
+                                            AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role) || !deliveryService.isDeliveryAssignedToPerson(id, userId)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY) || !deliveryService.isDeliveryAssignedToPerson(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to add notes to this delivery");
             }
 
@@ -280,12 +234,9 @@ public class DeliveryController {
 
     @PutMapping("/{id}/cancel")
     public ResponseEntity<?> cancelDelivery(@PathVariable Long id,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can cancel deliveries");
             }
 
@@ -300,17 +251,13 @@ public class DeliveryController {
     public ResponseEntity<?> getOptimalDeliveries(@RequestParam Double latitude,
                                                 @RequestParam Double longitude,
                                                 @RequestParam(defaultValue = "5") Integer maxDeliveries,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.DELIVERY)) {
                 return ResponseEntity.badRequest().body("Only delivery personnel can get optimal deliveries");
             }
 
-            List<DeliveryDTO> deliveries = deliveryService.findOptimalDeliveries(userId, latitude, longitude, maxDeliveries);
+            List<DeliveryDTO> deliveries = deliveryService.findOptimalDeliveries(user.getId(), latitude, longitude, maxDeliveries);
             return ResponseEntity.ok(deliveries);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get optimal deliveries: " + e.getMessage());
@@ -1,8 +1,9 @@
 package com.fooddelivery.paymentservice.controller;
 
 import com.fooddelivery.common.dto.PaymentDTO;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.paymentservice.service.PaymentService;
-import com.fooddelivery.paymentservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,24 +21,17 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping("/stripe")
     public ResponseEntity<?> processStripePayment(@RequestParam Long orderId,
                                                 @RequestParam BigDecimal amount,
                                                 @RequestParam String paymentMethodId,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long customerId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"CUSTOMER".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.CUSTOMER, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Only customers can make payments");
             }
 
-            PaymentDTO payment = paymentService.processStripePayment(orderId, amount, paymentMethodId, customerId);
+            PaymentDTO payment = paymentService.processStripePayment(orderId, amount, paymentMethodId, user.getId());
             return ResponseEntity.ok(payment);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Payment processing failed: " + e.getMessage());
@@ -47,17 +41,13 @@ public class PaymentController {
     @PostMapping("/cash-on-delivery")
     public ResponseEntity<?> processCashOnDeliveryPayment(@RequestParam Long orderId,
                                                         @RequestParam BigDecimal amount,
-                                                        @RequestHeader("Authorization") String authHeader) {
+                                                        AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long customerId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"CUSTOMER".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.CUSTOMER, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Only customers can create payments");
             }
 
-            PaymentDTO payment = paymentService.processCashOnDeliveryPayment(orderId, amount, customerId);
+            PaymentDTO payment = paymentService.processCashOnDeliveryPayment(orderId, amount, user.getId());
             return ResponseEntity.ok(payment);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Payment creation failed: " + e.getMessage());
@@ -66,12 +56,9 @@ public class PaymentController {
 
     @PutMapping("/{id}/confirm-cash")
     public ResponseEntity<?> confirmCashPayment(@PathVariable Long id,
-                                              @RequestHeader("Authorization") String authHeader) {
+                                              AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"DELIVERY".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.DELIVERY, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Only delivery personnel and admins can confirm cash payments");
             }
 
@@ -84,16 +71,12 @@ public class PaymentController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getPaymentById(@PathVariable Long id,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             PaymentDTO payment = paymentService.getPaymentById(id)
                     .orElseThrow(() -> new RuntimeException("Payment not found"));
 
-            if (!"ADMIN".equals(role) && !paymentService.isPaymentFromCustomer(id, userId)) {
+            if (!user.isAdmin() && !paymentService.isPaymentFromCustomer(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view this payment");
             }
 
@@ -105,13 +88,10 @@ public class PaymentController {
 
     @GetMapping("/order/{orderId}")
     public ResponseEntity<?> getPaymentByOrderId(@PathVariable Long orderId,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
             // Additional authorization checks would be needed here to verify order ownership
-            if (!"CUSTOMER".equals(role) && !"RESTAURANT".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.CUSTOMER, UserDTO.UserRole.RESTAURANT, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Not authorized to view payment for this order");
             }
 
@@ -124,17 +104,13 @@ public class PaymentController {
     }
 
     @GetMapping("/my-payments")
-    public ResponseEntity<?> getMyPayments(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyPayments(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long customerId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"CUSTOMER".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.CUSTOMER)) {
                 return ResponseEntity.badRequest().body("Only customers can view their payments");
             }
 
-            List<PaymentDTO> payments = paymentService.getPaymentsByCustomer(customerId);
+            List<PaymentDTO> payments = paymentService.getPaymentsByCustomer(user.getId());
             return ResponseEntity.ok(payments);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get payments: " + e.getMessage());
@@ -143,13 +119,9 @@ public class PaymentController {
 
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<?> getPaymentsByCustomer(@PathVariable Long customerId,
-                                                  @RequestHeader("Authorization") String authHeader) {
+                                                  AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !userId.equals(customerId)) {
+            if (!user.isAdmin() && !user.getId().equals(customerId)) {
                 return ResponseEntity.badRequest().body("Not authorized to view these payments");
             }
 
@@ -162,12 +134,9 @@ public class PaymentController {
 
     @GetMapping("/status/{status}")
     public ResponseEntity<?> getPaymentsByStatus(@PathVariable PaymentDTO.PaymentStatus status,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can view payments by status");
             }
 
@@ -181,12 +150,9 @@ public class PaymentController {
     @PostMapping("/{id}/refund")
     public ResponseEntity<?> refundPayment(@PathVariable Long id,
                                          @RequestParam BigDecimal refundAmount,
-                                         @RequestHeader("Authorization") String authHeader) {
+                                         AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can process refunds");
             }
 
@@ -200,12 +166,9 @@ public class PaymentController {
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updatePaymentStatus(@PathVariable Long id,
                                                @RequestParam PaymentDTO.PaymentStatus status,
-                                               @RequestHeader("Authorization") String authHeader) {
+                                               AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can update payment status");
             }
 
@@ -217,12 +180,9 @@ public class PaymentController {
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<?> getPaymentStats(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getPaymentStats(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can view payment statistics");
             }
 
@@ -234,12 +194,9 @@ public class PaymentController {
     }
 
     @PostMapping("/process-expired")
-    public ResponseEntity<?> processExpiredPayments(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> processExpiredPayments(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role)) {
+            if (!user.isAdmin()) {
                 return ResponseEntity.badRequest().body("Only admins can process expired payments");
             }
 
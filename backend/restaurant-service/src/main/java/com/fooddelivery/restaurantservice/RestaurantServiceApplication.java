@@ -1,9 +1,14 @@
 package com.fooddelivery.restaurantservice;
 
+import com.fooddelivery.common.security.AuthWebConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import(AuthWebConfiguration.class)
+@EnableScheduling
 public class RestaurantServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(RestaurantServiceApplication.class, args);
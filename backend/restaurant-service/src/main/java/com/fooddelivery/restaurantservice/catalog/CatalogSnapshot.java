@@ -0,0 +1,143 @@
+package com.fooddelivery.restaurantservice.catalog;
+
+import com.fooddelivery.common.dto.RestaurantDTO;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of every restaurant with the browse indexes prebuilt. Lists are
+ * unmodifiable and DTOs are shared between readers, so callers must not mutate them.
+ * "Listed" means active and approved, the set every public browse endpoint shows.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<RestaurantDTO> BY_ID = Comparator.comparing(RestaurantDTO::getId);
+
+    private static final Comparator<RestaurantDTO> BY_RATING_DESC =
+            Comparator.comparing((RestaurantDTO r) -> rating(r)).reversed().thenComparing(BY_ID);
+
+    private final Map<Long, RestaurantDTO> byId;
+    private final List<RestaurantDTO> all;
+    private final List<RestaurantDTO> active;
+    private final List<RestaurantDTO> listed;
+    private final List<RestaurantDTO> listedByRating;
+    // Rated restaurants only, like the rating >= :minRating query it replaces (NULL never matches)
+    private final List<RestaurantDTO> listedRatedByRating;
+    private final Map<String, List<RestaurantDTO>> listedByCuisine;
+    private final Map<Long, List<RestaurantDTO>> byOwner;
+    private final GeoGrid listedGeo;
+
+    private CatalogSnapshot(Map<Long, RestaurantDTO> byId) {
+        this.byId = byId;
+        this.all = List.copyOf(byId.values());
+        this.active = all.stream().filter(RestaurantDTO::isActive).toList();
+        this.listed = active.stream().filter(RestaurantDTO::isApproved).toList();
+        this.listedByRating = listed.stream().sorted(BY_RATING_DESC).toList();
+        this.listedRatedByRating = listedByRating.stream().filter(r -> r.getRating() != null).toList();
+        this.listedByCuisine = listed.stream()
+                .filter(r -> r.getCuisineType() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(r -> normalize(r.getCuisineType()), Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+        this.byOwner = all.stream()
+                .filter(r -> r.getOwnerId() != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(RestaurantDTO::getOwnerId, Collectors.toUnmodifiableList()),
+                        Map::copyOf));
+        this.listedGeo = GeoGrid.of(listed);
+    }
+
+    static CatalogSnapshot of(Collection<RestaurantDTO> restaurants) {
+        Map<Long, RestaurantDTO> byId = new TreeMap<>();
+        restaurants.forEach(r -> byId.put(r.getId(), r));
+        return new CatalogSnapshot(Collections.unmodifiableMap(byId));
+    }
+
+    // Copy-on-write: a new snapshot with one restaurant added or replaced
+    CatalogSnapshot with(RestaurantDTO restaurant) {
+        Map<Long, RestaurantDTO> copy = new TreeMap<>(byId);
+        copy.put(restaurant.getId(), restaurant);
+        return new CatalogSnapshot(Collections.unmodifiableMap(copy));
+    }
+
+    public Optional<RestaurantDTO> getById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<RestaurantDTO> getAll() {
+        return all;
+    }
+
+    public List<RestaurantDTO> getActive() {
+        return active;
+    }
+
+    public List<RestaurantDTO> getListed() {
+        return listed;
+    }
+
+    public List<RestaurantDTO> getListedByRating() {
+        return listedByRating;
+    }
+
+    public List<RestaurantDTO> getByOwner(Long ownerId) {
+        return byOwner.getOrDefault(ownerId, List.of());
+    }
+
+    // Case-insensitive substring match on cuisine, like the ILIKE query it replaces
+    public List<RestaurantDTO> getListedByCuisine(String cuisineType) {
+        String query = normalize(cuisineType);
+        List<List<RestaurantDTO>> groups = new ArrayList<>();
+        listedByCuisine.forEach((cuisine, restaurants) -> {
+            if (cuisine.contains(query)) {
+                groups.add(restaurants);
+            }
+        });
+        if (groups.size() <= 1) {
+            return groups.isEmpty() ? List.of() : groups.get(0);
+        }
+        List<RestaurantDTO> matches = new ArrayList<>();
+        groups.forEach(matches::addAll);
+        matches.sort(BY_ID);
+        return Collections.unmodifiableList(matches);
+    }
+
+    // Prefix of the rated, rating-sorted list, found by binary search
+    public List<RestaurantDTO> getListedByMinRating(double minRating) {
+        int low = 0;
+        int high = listedRatedByRating.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rating(listedRatedByRating.get(mid)) >= minRating) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return listedRatedByRating.subList(0, low);
+    }
+
+    // Nearest first; restaurants without coordinates never match
+    public List<RestaurantDTO> getListedNearby(double latitude, double longitude, double radiusKm, int limit,
+                                               Predicate<RestaurantDTO> filter) {
+        return listedGeo.nearby(latitude, longitude, radiusKm, limit, filter);
+    }
+
+    public List<RestaurantDTO> findListed(Predicate<RestaurantDTO> predicate) {
+        return listed.stream().filter(predicate).toList();
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static double rating(RestaurantDTO restaurant) {
+        return restaurant.getRating() == null ? 0.0 : restaurant.getRating();
+    }
+}
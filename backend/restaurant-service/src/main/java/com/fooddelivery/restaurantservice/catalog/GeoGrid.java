@@ -0,0 +1,178 @@
+package com.fooddelivery.restaurantservice.catalog;
+
+import com.fooddelivery.common.dto.RestaurantDTO;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable grid of fixed-size latitude/longitude cells over restaurants with coordinates.
+ * Nearby queries visit cells in rings around the query point and stop once no unvisited
+ * cell can hold a closer match, so their cost depends on local density, not catalog size.
+ * Within a few degrees of a pole, where cells are too narrow for that bound, nearby scans
+ * every cell in the rows the radius covers.
+ */
+public final class GeoGrid {
+
+    // About 2.2 km north-south; a handful of rings covers a typical delivery radius
+    static final double CELL_DEGREES = 0.02;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+    // Below this east-west scale (within about 3 degrees of a pole) nearby scans whole rows
+    private static final double MIN_COS = 0.05;
+
+    private static final GeoGrid EMPTY = new GeoGrid(Map.of());
+
+    private final Map<Long, Cell> cells;
+
+    private record Cell(RestaurantDTO[] restaurants, double[] latitudes, double[] longitudes) {}
+
+    private record Candidate(RestaurantDTO restaurant, double distanceKm) {}
+
+    private GeoGrid(Map<Long, Cell> cells) {
+        this.cells = cells;
+    }
+
+    static GeoGrid of(Collection<RestaurantDTO> restaurants) {
+        Map<Long, List<RestaurantDTO>> grouped = new HashMap<>();
+        for (RestaurantDTO restaurant : restaurants) {
+            if (restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+                long key = key(latCell(restaurant.getLatitude()), lngCell(restaurant.getLongitude()));
+                grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(restaurant);
+            }
+        }
+        if (grouped.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, Cell> cells = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((key, members) -> {
+            int size = members.size();
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                latitudes[i] = members.get(i).getLatitude();
+                longitudes[i] = members.get(i).getLongitude();
+            }
+            cells.put(key, new Cell(members.toArray(new RestaurantDTO[0]), latitudes, longitudes));
+        });
+        return new GeoGrid(cells);
+    }
+
+    /**
+     * Up to {@code limit} restaurants within {@code radiusKm} that pass the filter, nearest first.
+     */
+    public List<RestaurantDTO> nearby(double latitude, double longitude, double radiusKm, int limit,
+                                      Predicate<RestaurantDTO> filter) {
+        if (cells.isEmpty() || limit <= 0 || radiusKm <= 0) {
+            return List.of();
+        }
+
+        double radiusDegrees = radiusKm / KM_PER_DEGREE;
+        // Farthest kept candidate on top, so it is the one replaced
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Candidate::distanceKm).reversed());
+
+        // Cell width east-west is smallest at the highest latitude the radius reaches
+        double maxLatitude = Math.min(90, Math.abs(latitude) + radiusDegrees);
+        double cos = Math.cos(Math.toRadians(maxLatitude));
+        if (cos < MIN_COS) {
+            // Cells this close to a pole are too narrow to bound ring distances; scan whole rows instead
+            int lastLat = latCell(Math.min(90, latitude + radiusDegrees));
+            for (int latIndex = latCell(Math.max(-90, latitude - radiusDegrees)); latIndex <= lastLat; latIndex++) {
+                for (int lngIndex = 0; lngIndex < LNG_CELLS; lngIndex++) {
+                    Cell cell = cells.get(key(latIndex, lngIndex));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, radiusDegrees, limit, filter, best);
+                    }
+                }
+            }
+            return nearestFirst(best);
+        }
+
+        double cellKm = CELL_DEGREES * KM_PER_DEGREE * cos;
+        int maxRing = (int) Math.min(Math.ceil(radiusKm / cellKm) + 1, LNG_CELLS / 2 - 1);
+        int centerLat = latCell(latitude);
+        int centerLng = lngCell(longitude);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every point in this ring lies at least ring - 1 whole cells from the query point
+            if (best.size() == limit && best.peek().distanceKm() <= (ring - 1) * cellKm) {
+                break;
+            }
+            for (int dLat = -ring; dLat <= ring; dLat++) {
+                int latIndex = centerLat + dLat;
+                if (latIndex < 0 || latIndex >= LAT_CELLS) {
+                    continue;
+                }
+                // Whole rows on the ring's top and bottom edge, only the two ends in between
+                int step = (dLat == -ring || dLat == ring) ? 1 : Math.max(2 * ring, 1);
+                for (int dLng = -ring; dLng <= ring; dLng += step) {
+                    Cell cell = cells.get(key(latIndex, Math.floorMod(centerLng + dLng, LNG_CELLS)));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, radiusDegrees, limit, filter, best);
+                    }
+                }
+            }
+        }
+        return nearestFirst(best);
+    }
+
+    private static List<RestaurantDTO> nearestFirst(PriorityQueue<Candidate> best) {
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(Comparator.comparingDouble(Candidate::distanceKm)
+                .thenComparing(candidate -> candidate.restaurant().getId()));
+        List<RestaurantDTO> restaurants = new ArrayList<>(sorted.size());
+        sorted.forEach(candidate -> restaurants.add(candidate.restaurant()));
+        return restaurants;
+    }
+
+    private static void collect(Cell cell, double latitude, double longitude, double radiusKm, double radiusDegrees,
+                                int limit, Predicate<RestaurantDTO> filter, PriorityQueue<Candidate> best) {
+        for (int i = 0; i < cell.restaurants().length; i++) {
+            // Cheap latitude check before the trigonometry
+            if (Math.abs(cell.latitudes()[i] - latitude) > radiusDegrees) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, cell.latitudes()[i], cell.longitudes()[i]);
+            if (distance > radiusKm || (best.size() == limit && distance >= best.peek().distanceKm())) {
+                continue;
+            }
+            RestaurantDTO restaurant = cell.restaurants()[i];
+            if (filter != null && !filter.test(restaurant)) {
+                continue;
+            }
+            best.add(new Candidate(restaurant, distance));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine).
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLng = Math.toRadians(longitude2 - longitude1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min((int) Math.floor((latitude + 90) / CELL_DEGREES), LAT_CELLS - 1);
+    }
+
+    private static int lngCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LNG_CELLS);
+    }
+
+    private static long key(int latCell, int lngCell) {
+        return (long) latCell * LNG_CELLS + lngCell;
+    }
+}
@@ -0,0 +1,114 @@
+package com.fooddelivery.restaurantservice.catalog;
+
+import com.fooddelivery.common.dto.RestaurantDTO;
+import com.fooddelivery.restaurantservice.entity.Restaurant;
+import com.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. Readers take the volatile reference without
+ * locking; writers build a modified copy and swap it in after their transaction commits.
+ * A periodic full reload bounds drift from writes that bypass RestaurantService.
+ */
+@Component
+public class RestaurantCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantCatalog.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.enabled:true}")
+    private boolean enabled;
+
+    // Null until the first load; callers fall back to the database meanwhile
+    private volatile CatalogSnapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("restaurant.catalog.size", this, c -> c.snapshot == null ? 0 : c.snapshot.size())
+                .description("Restaurants in the in-memory catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Returns the current snapshot, or {@code null} if the catalog is disabled or not loaded.
+     */
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Call with the restaurant's state as written; applied only if the transaction commits
+    public void updated(Restaurant restaurant) {
+        if (!enabled) {
+            return;
+        }
+        RestaurantDTO restaurantDTO = restaurant.toDTO();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(restaurantDTO);
+                }
+            });
+        } else {
+            apply(restaurantDTO);
+        }
+    }
+
+    // Writers are serialized so no copy is built from a stale base
+    private synchronized void apply(RestaurantDTO restaurantDTO) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = current.with(restaurantDTO);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:300000}",
+               initialDelayString = "${catalog.refresh-interval-ms:300000}")
+    public synchronized void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            List<RestaurantDTO> restaurants = readOnly.execute(status -> restaurantRepository.findAll().stream()
+                    .map(Restaurant::toDTO)
+                    .toList());
+            snapshot = CatalogSnapshot.of(restaurants);
+            logger.debug("Restaurant catalog loaded with {} restaurants in {} ms",
+                    restaurants.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.warn("Restaurant catalog reload failed, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+}
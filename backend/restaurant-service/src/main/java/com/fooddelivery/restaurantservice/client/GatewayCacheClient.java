@@ -0,0 +1,90 @@
+package com.fooddelivery.restaurantservice.client;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Evicts cached catalog responses at the API gateway after restaurant and menu writes.
+ * Purges are sent after the surrounding transaction commits, on a background thread, so a
+ * failing or slow gateway never affects the write itself; the gateway TTL bounds staleness.
+ */
+@Component
+public class GatewayCacheClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(GatewayCacheClient.class);
+
+    private static final String PURGE_TOKEN_HEADER = "X-Cache-Purge-Token";
+
+    @Value("${gateway.cache-purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.cache-purge.url}")
+    private String purgeUrl;
+
+    @Value("${gateway.cache-purge.token}")
+    private String purgeToken;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gateway-cache-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public void purgeRestaurants() {
+        purgeAfterCommit("/api/restaurants");
+    }
+
+    public void purgeMenu(Long restaurantId) {
+        purgeAfterCommit("/api/menu/restaurant/" + restaurantId);
+    }
+
+    private void purgeAfterCommit(String prefix) {
+        if (!enabled) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> sendPurge(prefix));
+                }
+            });
+        } else {
+            executor.execute(() -> sendPurge(prefix));
+        }
+    }
+
+    private void sendPurge(String prefix) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(PURGE_TOKEN_HEADER, purgeToken);
+            String url = UriComponentsBuilder.fromHttpUrl(purgeUrl)
+                    .queryParam("prefix", prefix)
+                    .toUriString();
+            restTemplate.postForEntity(url, new HttpEntity<>(headers), String.class);
+        } catch (RestClientException e) {
+            logger.warn("Failed to purge gateway cache for {}: {}", prefix, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,11 +1,13 @@
 package com.fooddelivery.restaurantservice.controller;
 
 import com.fooddelivery.common.dto.MenuItemDTO;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.restaurantservice.service.MenuService;
 import com.fooddelivery.restaurantservice.service.RestaurantService;
-import com.fooddelivery.restaurantservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,18 +24,11 @@ public class MenuController {
     @Autowired
     private RestaurantService restaurantService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping
     public ResponseEntity<?> createMenuItem(@Valid @RequestBody MenuItemDTO menuItemDTO,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(menuItemDTO.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(menuItemDTO.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to add menu items to this restaurant");
             }
 
@@ -63,18 +58,17 @@ public class MenuController {
 
     @GetMapping("/restaurant/{restaurantId}/all")
     public ResponseEntity<?> getAllMenuByRestaurant(@PathVariable Long restaurantId,
-                                                   @RequestHeader("Authorization") String authHeader) {
+                                                   AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(restaurantId, userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(restaurantId, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view all menu items");
             }
 
+            // Owner-only view: keep it out of the gateway's shared response cache
             List<MenuItemDTO> menuItems = menuService.getMenuItemsByRestaurant(restaurantId);
-            return ResponseEntity.ok(menuItems);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(menuItems);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get menu items: " + e.getMessage());
         }
@@ -100,19 +94,24 @@ public class MenuController {
         return ResponseEntity.ok(menuItems);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchDishes(@RequestParam String q,
+                                          @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1) {
+            return ResponseEntity.badRequest().body("Query must not be blank and limit must be positive");
+        }
+        return ResponseEntity.ok(menuService.searchDishes(q, limit));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateMenuItem(@PathVariable Long id,
                                           @Valid @RequestBody MenuItemDTO menuItemDTO,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             MenuItemDTO existingItem = menuService.getMenuItemById(id)
                     .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to update this menu item");
             }
 
@@ -126,16 +125,12 @@ public class MenuController {
     @PutMapping("/{id}/availability")
     public ResponseEntity<?> updateAvailability(@PathVariable Long id,
                                               @RequestParam boolean available,
-                                              @RequestHeader("Authorization") String authHeader) {
+                                              AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             MenuItemDTO existingItem = menuService.getMenuItemById(id)
                     .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to update this menu item");
             }
 
@@ -148,16 +143,12 @@ public class MenuController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteMenuItem(@PathVariable Long id,
-                                          @RequestHeader("Authorization") String authHeader) {
+                                          AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             MenuItemDTO existingItem = menuService.getMenuItemById(id)
                     .orElseThrow(() -> new RuntimeException("Menu item not found"));
 
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(existingItem.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to delete this menu item");
             }
 
@@ -1,9 +1,10 @@
 package com.fooddelivery.restaurantservice.controller;
 
 import com.fooddelivery.common.dto.OrderDTO;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.restaurantservice.service.OrderService;
 import com.fooddelivery.restaurantservice.service.RestaurantService;
-import com.fooddelivery.restaurantservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,22 +23,15 @@ public class OrderController {
     @Autowired
     private RestaurantService restaurantService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping
     public ResponseEntity<?> createOrder(@Valid @RequestBody OrderDTO orderDTO,
-                                       @RequestHeader("Authorization") String authHeader) {
+                                       AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"CUSTOMER".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.CUSTOMER, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Only customers can create orders");
             }
 
-            orderDTO.setCustomerId(userId);
+            orderDTO.setCustomerId(user.getId());
             OrderDTO createdOrder = orderService.createOrder(orderDTO);
             return ResponseEntity.ok(createdOrder);
         } catch (Exception e) {
@@ -47,19 +41,15 @@ public class OrderController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrderById(@PathVariable Long id,
-                                        @RequestHeader("Authorization") String authHeader) {
+                                        AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             OrderDTO order = orderService.getOrderById(id)
                     .orElseThrow(() -> new RuntimeException("Order not found"));
 
             // Check authorization
-            if (!"ADMIN".equals(role) && 
-                !orderService.isOrderFromCustomer(id, userId) && 
-                !restaurantService.isRestaurantOwner(order.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && 
+                !orderService.isOrderFromCustomer(id, user.getId()) && 
+                !restaurantService.isRestaurantOwner(order.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view this order");
             }
 
@@ -71,13 +61,9 @@ public class OrderController {
 
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<?> getOrdersByCustomer(@PathVariable Long customerId,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !userId.equals(customerId)) {
+            if (!user.isAdmin() && !user.getId().equals(customerId)) {
                 return ResponseEntity.badRequest().body("Not authorized to view these orders");
             }
 
@@ -89,17 +75,13 @@ public class OrderController {
     }
 
     @GetMapping("/my-orders")
-    public ResponseEntity<?> getMyOrders(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyOrders(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"CUSTOMER".equals(role)) {
+            if (!user.hasRole(UserDTO.UserRole.CUSTOMER)) {
                 return ResponseEntity.badRequest().body("Only customers can view their orders");
             }
 
-            List<OrderDTO> orders = orderService.getOrdersByCustomer(userId);
+            List<OrderDTO> orders = orderService.getOrdersByCustomer(user.getId());
             return ResponseEntity.ok(orders);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get orders: " + e.getMessage());
@@ -108,13 +90,9 @@ public class OrderController {
 
     @GetMapping("/restaurant/{restaurantId}")
     public ResponseEntity<?> getOrdersByRestaurant(@PathVariable Long restaurantId,
-                                                  @RequestHeader("Authorization") String authHeader) {
+                                                  AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(restaurantId, userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(restaurantId, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view these orders");
             }
 
@@ -127,13 +105,9 @@ public class OrderController {
 
     @GetMapping("/restaurant/{restaurantId}/active")
     public ResponseEntity<?> getActiveOrdersByRestaurant(@PathVariable Long restaurantId,
-                                                        @RequestHeader("Authorization") String authHeader) {
+                                                        AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(restaurantId, userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(restaurantId, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to view these orders");
             }
 
@@ -147,16 +121,12 @@ public class OrderController {
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateOrderStatus(@PathVariable Long id,
                                              @RequestParam OrderDTO.OrderStatus status,
-                                             @RequestHeader("Authorization") String authHeader) {
+                                             AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
             OrderDTO order = orderService.getOrderById(id)
                     .orElseThrow(() -> new RuntimeException("Order not found"));
 
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(order.getRestaurantId(), userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(order.getRestaurantId(), user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to update this order");
             }
 
@@ -169,13 +139,9 @@ public class OrderController {
 
     @PutMapping("/{id}/cancel")
     public ResponseEntity<?> cancelOrder(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authHeader) {
+                                       AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !orderService.isOrderFromCustomer(id, userId)) {
+            if (!user.isAdmin() && !orderService.isOrderFromCustomer(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to cancel this order");
             }
 
@@ -1,8 +1,9 @@
 package com.fooddelivery.restaurantservice.controller;
 
 import com.fooddelivery.common.dto.RestaurantDTO;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.security.AuthenticatedUser;
 import com.fooddelivery.restaurantservice.service.RestaurantService;
-import com.fooddelivery.restaurantservice.util.JwtUtil;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,22 +19,15 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
-    @Autowired
-    private JwtUtil jwtUtil;
-
     @PostMapping
     public ResponseEntity<?> createRestaurant(@Valid @RequestBody RestaurantDTO restaurantDTO,
-                                            @RequestHeader("Authorization") String authHeader) {
+                                            AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"RESTAURANT".equals(role) && !"ADMIN".equals(role)) {
+            if (!user.hasAnyRole(UserDTO.UserRole.RESTAURANT, UserDTO.UserRole.ADMIN)) {
                 return ResponseEntity.badRequest().body("Only restaurant owners and admins can create restaurants");
             }
 
-            restaurantDTO.setOwnerId(userId);
+            restaurantDTO.setOwnerId(user.getId());
             RestaurantDTO createdRestaurant = restaurantService.createRestaurant(restaurantDTO);
             return ResponseEntity.ok(createdRestaurant);
         } catch (Exception e) {
@@ -65,11 +59,9 @@ public class RestaurantController {
     }
 
     @GetMapping("/my-restaurants")
-    public ResponseEntity<?> getMyRestaurants(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyRestaurants(AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            List<RestaurantDTO> restaurants = restaurantService.getRestaurantsByOwner(userId);
+            List<RestaurantDTO> restaurants = restaurantService.getRestaurantsByOwner(user.getId());
             return ResponseEntity.ok(restaurants);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get restaurants: " + e.getMessage());
@@ -94,6 +86,25 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurants);
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyRestaurants(@RequestParam double lat,
+                                                  @RequestParam double lng,
+                                                  @RequestParam(defaultValue = "5") double radiusKm,
+                                                  @RequestParam(required = false) String cuisine,
+                                                  @RequestParam(required = false) Double minRating,
+                                                  @RequestParam(defaultValue = "false") boolean openNow,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            return ResponseEntity.badRequest().body("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (!(radiusKm > 0) || limit < 1) {
+            return ResponseEntity.badRequest().body("Radius and limit must be positive");
+        }
+        List<RestaurantDTO> restaurants = restaurantService.getNearbyRestaurants(
+                lat, lng, radiusKm, limit, cuisine, minRating, openNow);
+        return ResponseEntity.ok(restaurants);
+    }
+
     @GetMapping("/top-rated")
     public ResponseEntity<List<RestaurantDTO>> getTopRatedRestaurants() {
         List<RestaurantDTO> restaurants = restaurantService.getTopRatedRestaurants();
@@ -103,13 +114,9 @@ public class RestaurantController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateRestaurant(@PathVariable Long id,
                                             @Valid @RequestBody RestaurantDTO restaurantDTO,
-                                            @RequestHeader("Authorization") String authHeader) {
+                                            AuthenticatedUser user) {
         try {
-            String token = authHeader.substring(7);
-            Long userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            if (!"ADMIN".equals(role) && !restaurantService.isRestaurantOwner(id, userId)) {
+            if (!user.isAdmin() && !restaurantService.isRestaurantOwner(id, user.getId())) {
                 return ResponseEntity.badRequest().body("Not authorized to update this restaurant");
             }
 
@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants",
+       indexes = @Index(name = "idx_restaurants_lat_lng", columnList = "latitude, longitude"))
 public class Restaurant {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +20,10 @@ public class Restaurant {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private String phone;
 
     private String email;
@@ -84,6 +89,8 @@ public class Restaurant {
         dto.setId(this.id);
         dto.setName(this.name);
         dto.setAddress(this.address);
+        dto.setLatitude(this.latitude);
+        dto.setLongitude(this.longitude);
         dto.setPhone(this.phone);
         dto.setEmail(this.email);
         dto.setCuisineType(this.cuisineType);
@@ -107,6 +114,8 @@ public class Restaurant {
     public void updateFromDTO(RestaurantDTO dto) {
         if (dto.getName() != null) this.name = dto.getName();
         if (dto.getAddress() != null) this.address = dto.getAddress();
+        if (dto.getLatitude() != null) this.latitude = dto.getLatitude();
+        if (dto.getLongitude() != null) this.longitude = dto.getLongitude();
         if (dto.getPhone() != null) this.phone = dto.getPhone();
         if (dto.getEmail() != null) this.email = dto.getEmail();
         if (dto.getCuisineType() != null) this.cuisineType = dto.getCuisineType();
@@ -129,6 +138,12 @@ public class Restaurant {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
 
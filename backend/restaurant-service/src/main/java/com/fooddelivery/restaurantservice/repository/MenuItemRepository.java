@@ -3,10 +3,14 @@ package com.fooddelivery.restaurantservice.repository;
 import com.fooddelivery.restaurantservice.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
@@ -30,4 +34,9 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
     @Query("SELECT COUNT(m) FROM MenuItem m WHERE m.restaurantId = :restaurantId AND m.available = true")
     long countAvailableByRestaurant(@Param("restaurantId") Long restaurantId);
+    
+    // Only the fields the search index needs; must be consumed inside a transaction
+    @Query("SELECT m.id, m.restaurantId, m.name, m.ingredients, m.description FROM MenuItem m WHERE m.available = true")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Object[]> streamAvailableSearchFields();
 }
@@ -31,6 +31,12 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.approved = true AND r.address ILIKE %:location%")
     List<Restaurant> findActiveByLocation(@Param("location") String location);
     
+    // Bounding box on the (latitude, longitude) index; callers trim the corners by distance
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.approved = true " +
+           "AND r.latitude BETWEEN :minLatitude AND :maxLatitude AND r.longitude BETWEEN :minLongitude AND :maxLongitude")
+    List<Restaurant> findActiveWithinBounds(@Param("minLatitude") Double minLatitude, @Param("maxLatitude") Double maxLatitude,
+                                            @Param("minLongitude") Double minLongitude, @Param("maxLongitude") Double maxLongitude);
+    
     @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.approved = true AND r.rating >= :minRating ORDER BY r.rating DESC")
     List<Restaurant> findActiveByMinRating(@Param("minRating") Double minRating);
     
@@ -0,0 +1,240 @@
+package com.fooddelivery.restaurantservice.search;
+
+import com.fooddelivery.restaurantservice.entity.MenuItem;
+import com.fooddelivery.restaurantservice.entity.Restaurant;
+import com.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over listed restaurants (name, cuisine, description) and available dishes
+ * (name, ingredients, description). Built after startup by streaming both tables, kept current
+ * by the service write paths after commit, and rebuilt once too many entries are superseded.
+ * Dishes of restaurants that are not listed are filtered out at query time.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    // Field boosts: restaurant name, cuisine, description; dish name, ingredients, description
+    private static final float[] RESTAURANT_FIELDS = {3.0f, 2.0f, 1.0f};
+    private static final float[] DISH_FIELDS = {3.0f, 1.5f, 1.0f};
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.compact-threshold:0.3}")
+    private double compactThreshold;
+
+    private volatile Indexes indexes;
+
+    // Guarded by this; writes made while a rebuild streams the tables, replayed onto the new indexes
+    private List<Consumer<Indexes>> pending;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private Timer restaurantTimer;
+    private Timer dishTimer;
+
+    private record Indexes(InvertedIndex restaurants, InvertedIndex dishes) {
+
+        static Indexes empty() {
+            return new Indexes(new InvertedIndex(RESTAURANT_FIELDS), new InvertedIndex(DISH_FIELDS));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        restaurantTimer = meterRegistry.timer("restaurant.search", "index", "restaurants");
+        dishTimer = meterRegistry.timer("restaurant.search", "index", "dishes");
+        Gauge.builder("restaurant.search.documents", this, s -> s.indexes == null ? 0 : s.indexes.restaurants().size())
+                .tag("index", "restaurants")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.search.documents", this, s -> s.indexes == null ? 0 : s.indexes.dishes().size())
+                .tag("index", "dishes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * Ids of the best matching listed restaurants, or {@code null} if the index is not built.
+     */
+    public List<Long> searchRestaurants(String query, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return null;
+        }
+        return restaurantTimer.record(() -> ids(current.restaurants().search(query, limit, null)));
+    }
+
+    /**
+     * Ids of the best matching available dishes, optionally within one restaurant, or
+     * {@code null} if the index is not built.
+     */
+    public List<Long> searchDishes(String query, Long restaurantId, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return null;
+        }
+        if (restaurantId != null) {
+            return dishTimer.record(() -> ids(current.dishes().searchGroup(query, limit, restaurantId)));
+        }
+        // The restaurant index holds exactly the listed restaurants, so it doubles as the listing check
+        InvertedIndex restaurants = current.restaurants();
+        return dishTimer.record(() -> ids(current.dishes().search(query, limit, restaurants::contains)));
+    }
+
+    public void restaurantChanged(Restaurant restaurant) {
+        long id = restaurant.getId();
+        if (restaurant.isActive() && restaurant.isApproved()) {
+            String name = restaurant.getName();
+            String cuisine = restaurant.getCuisineType();
+            String description = restaurant.getDescription();
+            afterCommit(indexes -> indexes.restaurants().put(id, id, name, cuisine, description));
+        } else {
+            afterCommit(indexes -> indexes.restaurants().remove(id));
+        }
+    }
+
+    public void menuItemChanged(MenuItem menuItem) {
+        long id = menuItem.getId();
+        if (menuItem.isAvailable()) {
+            long restaurantId = menuItem.getRestaurantId();
+            String name = menuItem.getName();
+            String ingredients = menuItem.getIngredients();
+            String description = menuItem.getDescription();
+            afterCommit(indexes -> indexes.dishes().put(id, restaurantId, name, ingredients, description));
+        } else {
+            menuItemDeleted(menuItem);
+        }
+    }
+
+    public void menuItemDeleted(MenuItem menuItem) {
+        long id = menuItem.getId();
+        afterCommit(indexes -> indexes.dishes().remove(id));
+    }
+
+    private void afterCommit(Consumer<Indexes> write) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(write);
+                }
+            });
+        } else {
+            apply(write);
+        }
+    }
+
+    private void apply(Consumer<Indexes> write) {
+        Indexes current;
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(write);
+            }
+            current = indexes;
+        }
+        if (current == null) {
+            return;
+        }
+        write.accept(current);
+        if (current.restaurants().deadRatio() > compactThreshold || current.dishes().deadRatio() > compactThreshold) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * Streams listed restaurants and available dishes into fresh indexes and swaps them in.
+     * Returns false if disabled or a rebuild is already running.
+     */
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            Indexes next = Indexes.empty();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                for (Restaurant restaurant : restaurantRepository.findByActiveTrueAndApprovedTrue()) {
+                    next.restaurants().put(restaurant.getId(), restaurant.getId(), restaurant.getName(),
+                            restaurant.getCuisineType(), restaurant.getDescription());
+                }
+                try (Stream<Object[]> rows = menuItemRepository.streamAvailableSearchFields()) {
+                    rows.forEach(row -> next.dishes().put((Long) row[0], (Long) row[1],
+                            (String) row[2], (String) row[3], (String) row[4]));
+                }
+            });
+
+            synchronized (this) {
+                pending.forEach(write -> write.accept(next));
+                indexes = next;
+            }
+            logger.info("Search index built with {} restaurants and {} dishes in {} ms",
+                    next.restaurants().size(), next.dishes().size(), System.currentTimeMillis() - startTime);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Search index build failed, keeping previous index: {}", e.getMessage());
+            return false;
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.id()));
+        return ids;
+    }
+}
@@ -0,0 +1,442 @@
+package com.fooddelivery.restaurantservice.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory full-text index over documents made of weighted text fields.
+ *
+ * Each term maps to a {@link PostingList} of per-field term frequencies. Matches are scored with
+ * BM25 using per-field boosts, normalized at query time against the live documents' average
+ * field lengths, so scores do not depend on insertion order. A query token matches
+ * its exact term, up to {@link #MAX_PREFIX_EXPANSIONS} terms it prefixes, and (from four
+ * characters) terms one edit away, found through a deletion neighbourhood; weaker matches
+ * score less. Every query token must match. Documents are evaluated one at a time by
+ * leapfrogging the cheapest token's postings against the others, keeping the top hits.
+ *
+ * Re-indexing a document tombstones its old ordinal so posting lists stay append-only;
+ * callers rebuild once {@link #deadRatio()} grows.
+ */
+public final class InvertedIndex {
+
+    static final int MAX_PREFIX_EXPANSIONS = 16;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.7f;
+    private static final float FUZZY = 0.5f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    // Term frequencies are packed one byte per field into an int
+    private static final int MAX_FIELDS = 4;
+    private static final int MAX_FREQUENCY = 0xFF;
+
+    private final float[] fieldBoosts;
+    // Summed field lengths of live documents only
+    private final long[] liveFieldLengthTotals;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> dictionary = new TreeMap<>();
+    private final Map<String, List<String>> deletions = new HashMap<>();
+    private final LongIntMap ordinalById = new LongIntMap();
+    // Ordinals per group, so a search scoped to one group starts from its few documents
+    private final Map<Long, PostingList> groupPostings = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] ids = new long[1024];
+    private long[] groups = new long[1024];
+    // Field lengths per ordinal, fieldBoosts.length entries each
+    private int[] fieldLengths;
+    private int ordinals;
+    private int liveCount;
+
+    public InvertedIndex(float... fieldBoosts) {
+        if (fieldBoosts.length == 0 || fieldBoosts.length > MAX_FIELDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_FIELDS + " fields are supported");
+        }
+        this.fieldBoosts = fieldBoosts.clone();
+        this.liveFieldLengthTotals = new long[fieldBoosts.length];
+        this.fieldLengths = new int[ids.length * fieldBoosts.length];
+    }
+
+    public record Hit(long id, float score) {}
+
+    /**
+     * Indexes or re-indexes a document. {@code group} is an opaque filter key (for dishes, the
+     * restaurant id); {@code fields} are in the order of the boosts given at construction.
+     */
+    public void put(long id, long group, String... fields) {
+        int fieldCount = fieldBoosts.length;
+        int[] lengths = new int[fieldCount];
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (int field = 0; field < fieldCount; field++) {
+            List<String> tokens = Tokenizer.tokenize(field < fields.length ? fields[field] : null);
+            lengths[field] = tokens.size();
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            int shift = field * 8;
+            frequencies.forEach((term, tf) ->
+                    termFrequencies.merge(term, Math.min(tf, MAX_FREQUENCY) << shift, Integer::sum));
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = ordinals++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ordinal * 2);
+                groups = Arrays.copyOf(groups, ordinal * 2);
+                fieldLengths = Arrays.copyOf(fieldLengths, ordinal * 2 * fieldCount);
+            }
+            ids[ordinal] = id;
+            groups[ordinal] = group;
+            for (int field = 0; field < fieldCount; field++) {
+                fieldLengths[ordinal * fieldCount + field] = lengths[field];
+                liveFieldLengthTotals[field] += lengths[field];
+            }
+            ordinalById.put(id, ordinal);
+            live.set(ordinal);
+            liveCount++;
+
+            termFrequencies.forEach((term, packed) -> postings(term).add(ordinal, packed));
+            groupPostings.computeIfAbsent(group, g -> new PostingList()).add(ordinal, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        int ordinal = ordinalById.get(id);
+        if (ordinal >= 0) {
+            ordinalById.remove(id);
+            live.clear(ordinal);
+            liveCount--;
+            for (int field = 0; field < fieldBoosts.length; field++) {
+                liveFieldLengthTotals[field] -= fieldLengths[ordinal * fieldBoosts.length + field];
+            }
+        }
+    }
+
+    private PostingList postings(String term) {
+        PostingList list = dictionary.get(term);
+        if (list == null) {
+            list = new PostingList();
+            dictionary.put(term, list);
+            if (term.length() >= MIN_FUZZY_LENGTH) {
+                for (String deletion : deletionsOf(term)) {
+                    deletions.computeIfAbsent(deletion, d -> new ArrayList<>(1)).add(term);
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns up to {@code limit} live documents matching every token of the query, best first.
+     * {@code groupFilter} may be null; otherwise only documents whose group it accepts match.
+     */
+    public List<Hit> search(String query, int limit, LongPredicate groupFilter) {
+        return search(query, limit, groupFilter, null);
+    }
+
+    /**
+     * Like {@link #search(String, int, LongPredicate)} restricted to a single group, without
+     * visiting the matches of other groups.
+     */
+    public List<Hit> searchGroup(String query, int limit, long group) {
+        return search(query, limit, null, group);
+    }
+
+    private List<Hit> search(String query, int limit, LongPredicate groupFilter, Long group) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TokenMatcher> matchers = new ArrayList<>(tokens.size() + 1);
+            if (group != null) {
+                PostingList members = groupPostings.get(group);
+                if (members == null) {
+                    return List.of();
+                }
+                // Contributes nothing to the score, only restricts the candidates
+                matchers.add(new TokenMatcher(new TermCursor[] {new TermCursor(members, 0f)}));
+            }
+            for (String token : new LinkedHashSet<>(tokens)) {
+                TokenMatcher matcher = expand(token);
+                if (matcher == null) {
+                    return List.of();
+                }
+                matchers.add(matcher);
+            }
+            matchers.sort(Comparator.comparingLong(TokenMatcher::cost));
+            return collect(matchers, limit, groupFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private TokenMatcher expand(String token) {
+        Map<String, Float> expansions = new LinkedHashMap<>();
+        if (dictionary.containsKey(token)) {
+            expansions.put(token, EXACT);
+        }
+
+        // Most frequent completions first, so a short prefix still finds the likely terms
+        List<Map.Entry<String, PostingList>> completions = new ArrayList<>(
+                dictionary.subMap(token, false, token + Character.MAX_VALUE, false).entrySet());
+        if (completions.size() > MAX_PREFIX_EXPANSIONS) {
+            completions.sort(Comparator.comparingInt((Map.Entry<String, PostingList> e) -> e.getValue().size()).reversed());
+            completions = completions.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        completions.forEach(entry -> expansions.putIfAbsent(entry.getKey(), PREFIX));
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (String candidate : fuzzyCandidates(token)) {
+                if (isOneEditAway(token, candidate)) {
+                    expansions.putIfAbsent(candidate, FUZZY);
+                }
+            }
+        }
+
+        if (expansions.isEmpty()) {
+            return null;
+        }
+        List<TermCursor> cursors = new ArrayList<>(expansions.size());
+        expansions.forEach((term, match) -> {
+            PostingList list = dictionary.get(term);
+            cursors.add(new TermCursor(list, match * idf(list.size())));
+        });
+        return new TokenMatcher(cursors.toArray(new TermCursor[0]));
+    }
+
+    // Terms whose deletion neighbourhood overlaps the token's: at most one edit apart
+    private Set<String> fuzzyCandidates(String token) {
+        Set<String> candidates = new HashSet<>(deletions.getOrDefault(token, List.of()));
+        for (String deletion : deletionsOf(token)) {
+            if (dictionary.containsKey(deletion)) {
+                candidates.add(deletion);
+            }
+            candidates.addAll(deletions.getOrDefault(deletion, List.of()));
+        }
+        candidates.remove(token);
+        return candidates;
+    }
+
+    private List<Hit> collect(List<TokenMatcher> matchers, int limit, LongPredicate groupFilter) {
+        TokenMatcher lead = matchers.get(0);
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder()));
+
+        // Length normalization uses the live documents' average field lengths at query time
+        int fieldCount = fieldBoosts.length;
+        float[] averageLengths = new float[fieldCount];
+        for (int field = 0; field < fieldCount; field++) {
+            averageLengths[field] = Math.max(1f, (float) liveFieldLengthTotals[field] / Math.max(liveCount, 1));
+        }
+        float[] norms = new float[fieldCount];
+
+        int doc = lead.doc();
+        while (doc != PostingList.NO_MORE) {
+            int next = doc;
+            for (int i = 1; i < matchers.size(); i++) {
+                TokenMatcher other = matchers.get(i);
+                other.advance(doc);
+                if (other.doc() != doc) {
+                    next = other.doc();
+                    break;
+                }
+            }
+            if (next != doc) {
+                if (next == PostingList.NO_MORE) {
+                    break;
+                }
+                lead.advance(next);
+            } else {
+                if (live.get(doc) && (groupFilter == null || groupFilter.test(groups[doc]))) {
+                    for (int field = 0; field < fieldCount; field++) {
+                        norms[field] = 1 - B + B * fieldLengths[doc * fieldCount + field] / averageLengths[field];
+                    }
+                    float score = 0;
+                    for (TokenMatcher matcher : matchers) {
+                        score += matcher.score(doc, fieldBoosts, norms);
+                    }
+                    // Only allocate a hit when it would enter the current top k
+                    Hit worst = top.size() == limit ? top.peek() : null;
+                    if (worst == null || score > worst.score() || (score == worst.score() && ids[doc] < worst.id())) {
+                        top.add(new Hit(ids[doc], score));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                    }
+                }
+                lead.next();
+            }
+            doc = lead.doc();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id));
+        return hits;
+    }
+
+    // Boosted BM25 term-frequency component summed over the fields the term occurs in
+    private static float bm25(int packedFrequencies, float[] boosts, float[] norms) {
+        float weight = 0;
+        for (int field = 0; field < boosts.length; field++) {
+            int tf = (packedFrequencies >>> (field * 8)) & MAX_FREQUENCY;
+            if (tf > 0) {
+                weight += boosts[field] * tf * (K1 + 1) / (tf + K1 * norms[field]);
+            }
+        }
+        return weight;
+    }
+
+    // Posting lists still hold removed documents until the next rebuild, so cap the frequency
+    private float idf(int postings) {
+        int documents = Math.max(liveCount, 1);
+        int documentFrequency = Math.min(postings, documents);
+        return (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return ordinalById.get(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double deadRatio() {
+        lock.readLock().lock();
+        try {
+            return ordinals == 0 ? 0 : (double) (ordinals - liveCount) / ordinals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    // Optimal string alignment distance of exactly 1: one insertion, deletion, substitution or transposition
+    static boolean isOneEditAway(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDifference > 0) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (lengthDifference < 0) {
+            return b.regionMatches(i + 1, a, i, a.length() - i);
+        }
+        if (i == a.length()) {
+            return false;
+        }
+        if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+            return true;
+        }
+        return i + 1 < a.length()
+                && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+    }
+
+    // Cursor over one expanded term's postings
+    private static final class TermCursor {
+        private final PostingList list;
+        private final float factor;
+        private int position;
+
+        TermCursor(PostingList list, float factor) {
+            this.list = list;
+            this.factor = factor;
+        }
+
+        int doc() {
+            return list.ordinal(position);
+        }
+    }
+
+    // Union of the cursors of every term one query token expanded to
+    private static final class TokenMatcher {
+        private final TermCursor[] cursors;
+        private final long cost;
+
+        TokenMatcher(TermCursor[] cursors) {
+            this.cursors = cursors;
+            long total = 0;
+            for (TermCursor cursor : cursors) {
+                total += cursor.list.size();
+            }
+            this.cost = total;
+        }
+
+        long cost() {
+            return cost;
+        }
+
+        int doc() {
+            int min = PostingList.NO_MORE;
+            for (TermCursor cursor : cursors) {
+                min = Math.min(min, cursor.doc());
+            }
+            return min;
+        }
+
+        void advance(int target) {
+            for (TermCursor cursor : cursors) {
+                cursor.position = cursor.list.advance(cursor.position, target);
+            }
+        }
+
+        void next() {
+            int current = doc();
+            for (TermCursor cursor : cursors) {
+                if (cursor.doc() == current) {
+                    cursor.position++;
+                }
+            }
+        }
+
+        // Best match among the expansions positioned on the document
+        float score(int doc, float[] boosts, float[] norms) {
+            float best = 0;
+            for (TermCursor cursor : cursors) {
+                if (cursor.doc() == doc && cursor.factor > 0) {
+                    best = Math.max(best, cursor.factor * bm25(cursor.list.frequencies(cursor.position), boosts, norms));
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.fooddelivery.restaurantservice.search;
+
+/**
+ * Open-addressing map from positive long ids to int ordinals, avoiding boxed entries for
+ * millions of documents. Not thread-safe.
+ */
+final class LongIntMap {
+
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+
+    private long[] keys = new long[1024];
+    private int[] values = new int[1024];
+    private int used;
+
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if ((used + 1) * 4L > keys.length * 3L) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int reuse = -1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == DELETED && reuse < 0) {
+                reuse = slot;
+            } else if (current == EMPTY) {
+                int target = reuse >= 0 ? reuse : slot;
+                if (keys[target] == EMPTY) {
+                    used++;
+                }
+                keys[target] = key;
+                values[target] = value;
+                return;
+            }
+        }
+    }
+
+    void remove(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                keys[slot] = DELETED;
+                return;
+            }
+            if (current == EMPTY) {
+                return;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int live = 0;
+        for (long key : oldKeys) {
+            if (key > 0) {
+                live++;
+            }
+        }
+        int capacity = Integer.highestOneBit(Math.max(1024, live * 2)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] > 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32));
+    }
+}
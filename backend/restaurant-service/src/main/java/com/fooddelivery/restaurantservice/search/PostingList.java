@@ -0,0 +1,61 @@
+package com.fooddelivery.restaurantservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only postings of one term: ascending document ordinals with a parallel array of
+ * per-field term frequencies, packed one byte per field, both primitive.
+ */
+final class PostingList {
+
+    static final int NO_MORE = Integer.MAX_VALUE;
+
+    private int[] ordinals = new int[2];
+    private int[] frequencies = new int[2];
+    private int size;
+
+    void add(int ordinal, int packedFrequencies) {
+        if (size == ordinals.length) {
+            int capacity = size + (size >> 1) + 1;
+            ordinals = Arrays.copyOf(ordinals, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+        }
+        ordinals[size] = ordinal;
+        frequencies[size] = packedFrequencies;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ordinal(int index) {
+        return index < size ? ordinals[index] : NO_MORE;
+    }
+
+    int frequencies(int index) {
+        return frequencies[index];
+    }
+
+    // Index of the first posting at or after {@code from} whose ordinal is >= target (galloping)
+    int advance(int from, int target) {
+        if (from >= size || ordinals[from] >= target) {
+            return from;
+        }
+        int bound = 1;
+        while (from + bound < size && ordinals[from + bound] < target) {
+            bound <<= 1;
+        }
+        int low = from + (bound >> 1) + 1;
+        int high = Math.min(from + bound, size);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ordinals[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
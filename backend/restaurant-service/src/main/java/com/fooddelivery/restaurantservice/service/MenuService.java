@@ -1,14 +1,20 @@
 package com.fooddelivery.restaurantservice.service;
 
 import com.fooddelivery.common.dto.MenuItemDTO;
+import com.fooddelivery.restaurantservice.client.GatewayCacheClient;
 import com.fooddelivery.restaurantservice.entity.MenuItem;
 import com.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.fooddelivery.restaurantservice.search.CatalogSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +24,15 @@ public class MenuService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private GatewayCacheClient gatewayCacheClient;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Value("${search.max-results:100}")
+    private int maxSearchResults;
+
     public MenuItemDTO createMenuItem(MenuItemDTO menuItemDTO) {
         MenuItem menuItem = new MenuItem(
             menuItemDTO.getName(),
@@ -29,6 +44,8 @@ public class MenuService {
         
         menuItem.updateFromDTO(menuItemDTO);
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        catalogSearchIndex.menuItemChanged(savedMenuItem);
+        gatewayCacheClient.purgeMenu(savedMenuItem.getRestaurantId());
         return savedMenuItem.toDTO();
     }
 
@@ -60,12 +77,38 @@ public class MenuService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<MenuItemDTO> searchMenuItems(Long restaurantId, String name) {
+        List<Long> ids = catalogSearchIndex.searchDishes(name, restaurantId, maxSearchResults);
+        if (ids != null) {
+            return findInOrder(ids);
+        }
         return menuItemRepository.findAvailableByRestaurantAndNameContaining(restaurantId, name).stream()
                 .map(MenuItem::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ranked dish search across every listed restaurant. Returns an empty list until the
+     * search index has been built, since there is no reasonable database fallback.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<MenuItemDTO> searchDishes(String query, int limit) {
+        List<Long> ids = catalogSearchIndex.searchDishes(query, null, Math.min(limit, maxSearchResults));
+        return ids != null ? findInOrder(ids) : List.of();
+    }
+
+    // Loads the menu items and keeps the search rank order
+    private List<MenuItemDTO> findInOrder(List<Long> ids) {
+        Map<Long, MenuItem> byId = menuItemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(menuItem -> menuItem != null && menuItem.isAvailable())
+                .map(MenuItem::toDTO)
+                .collect(Collectors.toList());
+    }
+
     public List<String> getCategoriesByRestaurant(Long restaurantId) {
         return menuItemRepository.findCategoriesByRestaurant(restaurantId);
     }
@@ -76,14 +119,18 @@ public class MenuService {
 
         menuItem.updateFromDTO(menuItemDTO);
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        catalogSearchIndex.menuItemChanged(updatedMenuItem);
+        gatewayCacheClient.purgeMenu(updatedMenuItem.getRestaurantId());
         return updatedMenuItem.toDTO();
     }
 
     public void deleteMenuItem(Long id) {
-        if (!menuItemRepository.existsById(id)) {
-            throw new RuntimeException("Menu item not found: " + id);
-        }
-        menuItemRepository.deleteById(id);
+        MenuItem menuItem = menuItemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Menu item not found: " + id));
+
+        menuItemRepository.delete(menuItem);
+        catalogSearchIndex.menuItemDeleted(menuItem);
+        gatewayCacheClient.purgeMenu(menuItem.getRestaurantId());
     }
 
     public void setMenuItemAvailability(Long id, boolean available) {
@@ -92,6 +139,8 @@ public class MenuService {
         
         menuItem.setAvailable(available);
         menuItemRepository.save(menuItem);
+        catalogSearchIndex.menuItemChanged(menuItem);
+        gatewayCacheClient.purgeMenu(menuItem.getRestaurantId());
     }
 
     public long getAvailableItemCountByRestaurant(Long restaurantId) {
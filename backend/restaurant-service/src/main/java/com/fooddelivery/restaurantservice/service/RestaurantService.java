@@ -1,14 +1,26 @@
 package com.fooddelivery.restaurantservice.service;
 
 import com.fooddelivery.common.dto.RestaurantDTO;
+import com.fooddelivery.restaurantservice.catalog.CatalogSnapshot;
+import com.fooddelivery.restaurantservice.catalog.GeoGrid;
+import com.fooddelivery.restaurantservice.catalog.RestaurantCatalog;
+import com.fooddelivery.restaurantservice.client.GatewayCacheClient;
 import com.fooddelivery.restaurantservice.entity.Restaurant;
 import com.fooddelivery.restaurantservice.repository.RestaurantRepository;
+import com.fooddelivery.restaurantservice.search.CatalogSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +30,28 @@ public class RestaurantService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private GatewayCacheClient gatewayCacheClient;
+
+    @Autowired
+    private RestaurantCatalog restaurantCatalog;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Value("${search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${catalog.nearby.max-radius-km:50}")
+    private double maxNearbyRadiusKm;
+
+    @Value("${catalog.nearby.max-results:100}")
+    private int maxNearbyResults;
+
+    // Zone the opening hours are in; empty means the server's default zone
+    @Value("${catalog.nearby.time-zone:}")
+    private String openingHoursZone;
+
     public RestaurantDTO createRestaurant(RestaurantDTO restaurantDTO) {
         Restaurant restaurant = new Restaurant(
             restaurantDTO.getName(),
@@ -28,62 +62,183 @@ public class RestaurantService {
         
         restaurant.updateFromDTO(restaurantDTO);
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(savedRestaurant);
+        catalogSearchIndex.restaurantChanged(savedRestaurant);
+        gatewayCacheClient.purgeRestaurants();
         return savedRestaurant.toDTO();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<RestaurantDTO> getRestaurantById(Long id) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getById(id);
+        }
         return restaurantRepository.findById(id).map(Restaurant::toDTO);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getAllRestaurants() {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getAll();
+        }
         return restaurantRepository.findAll().stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getActiveRestaurants() {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getActive();
+        }
         return restaurantRepository.findByActiveTrue().stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getApprovedRestaurants() {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getListed();
+        }
         return restaurantRepository.findByActiveTrueAndApprovedTrue().stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getRestaurantsByOwner(Long ownerId) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getByOwner(ownerId);
+        }
         return restaurantRepository.findByOwnerId(ownerId).stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getRestaurantsByCuisine(String cuisineType) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getListedByCuisine(cuisineType);
+        }
         return restaurantRepository.findActiveByCuisineType(cuisineType).stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> searchRestaurantsByName(String name) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        // Ranked, typo-tolerant matches across name, cuisine and description
+        List<Long> ids = catalogSearchIndex.searchRestaurants(name, maxSearchResults);
+        if (ids != null && catalog != null) {
+            return ids.stream()
+                    .map(catalog::getById)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList());
+        }
+        if (catalog != null) {
+            return catalog.findListed(r -> containsIgnoreCase(r.getName(), name));
+        }
         return restaurantRepository.findActiveByNameContaining(name).stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getRestaurantsByLocation(String location) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.findListed(r -> containsIgnoreCase(r.getAddress(), location));
+        }
         return restaurantRepository.findActiveByLocation(location).stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listed restaurants within the radius, nearest first. The radius and limit are capped by
+     * configuration; {@code cuisine}, {@code minRating} and {@code openNow} are optional filters.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RestaurantDTO> getNearbyRestaurants(double latitude, double longitude, double radiusKm, int limit,
+                                                    String cuisine, Double minRating, boolean openNow) {
+        double radius = Math.min(radiusKm, maxNearbyRadiusKm);
+        int maxResults = Math.min(limit, maxNearbyResults);
+        Predicate<RestaurantDTO> filter = nearbyFilter(cuisine, minRating, openNow);
+
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getListedNearby(latitude, longitude, radius, maxResults, filter);
+        }
+
+        // Bounding box query, widened to every longitude when it would cross the antimeridian or a pole
+        double latitudeSpan = radius / 111.2;
+        double longitudeSpan = latitudeSpan / Math.max(Math.cos(Math.toRadians(Math.abs(latitude) + latitudeSpan)), 0.01);
+        boolean wraps = Math.abs(latitude) + latitudeSpan >= 90 || Math.abs(longitude) + longitudeSpan > 180;
+        return restaurantRepository.findActiveWithinBounds(
+                        latitude - latitudeSpan, latitude + latitudeSpan,
+                        wraps ? -180 : longitude - longitudeSpan, wraps ? 180 : longitude + longitudeSpan).stream()
+                .map(Restaurant::toDTO)
+                .filter(filter)
+                .filter(r -> GeoGrid.distanceKm(latitude, longitude, r.getLatitude(), r.getLongitude()) <= radius)
+                .sorted(Comparator.comparingDouble(
+                        (RestaurantDTO r) -> GeoGrid.distanceKm(latitude, longitude, r.getLatitude(), r.getLongitude())))
+                .limit(maxResults)
+                .collect(Collectors.toList());
+    }
+
+    private Predicate<RestaurantDTO> nearbyFilter(String cuisine, Double minRating, boolean openNow) {
+        Predicate<RestaurantDTO> filter = r -> true;
+        if (cuisine != null && !cuisine.isBlank()) {
+            filter = filter.and(r -> containsIgnoreCase(r.getCuisineType(), cuisine));
+        }
+        if (minRating != null) {
+            filter = filter.and(r -> r.getRating() != null && r.getRating() >= minRating);
+        }
+        if (openNow) {
+            LocalTime now = openingHoursZone.isEmpty() ? LocalTime.now() : LocalTime.now(ZoneId.of(openingHoursZone));
+            filter = filter.and(r -> isOpenAt(r, now));
+        }
+        return filter;
+    }
+
+    // Restaurants without hours count as open; closing before opening means open past midnight
+    private static boolean isOpenAt(RestaurantDTO restaurant, LocalTime time) {
+        LocalTime opening = restaurant.getOpeningTime();
+        LocalTime closing = restaurant.getClosingTime();
+        if (opening == null || closing == null) {
+            return true;
+        }
+        if (opening.isBefore(closing)) {
+            return !time.isBefore(opening) && time.isBefore(closing);
+        }
+        return !time.isBefore(opening) || time.isBefore(closing);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getRestaurantsByMinRating(Double minRating) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getListedByMinRating(minRating);
+        }
         return restaurantRepository.findActiveByMinRating(minRating).stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<RestaurantDTO> getTopRatedRestaurants() {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getListedByRating();
+        }
         return restaurantRepository.findActiveOrderByRatingDesc().stream()
                 .map(Restaurant::toDTO)
                 .collect(Collectors.toList());
@@ -95,6 +250,9 @@ public class RestaurantService {
 
         restaurant.updateFromDTO(restaurantDTO);
         Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(updatedRestaurant);
+        catalogSearchIndex.restaurantChanged(updatedRestaurant);
+        gatewayCacheClient.purgeRestaurants();
         return updatedRestaurant.toDTO();
     }
 
@@ -104,6 +262,9 @@ public class RestaurantService {
         
         restaurant.setApproved(true);
         restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(restaurant);
+        catalogSearchIndex.restaurantChanged(restaurant);
+        gatewayCacheClient.purgeRestaurants();
     }
 
     public void rejectRestaurant(Long id) {
@@ -113,6 +274,9 @@ public class RestaurantService {
         restaurant.setApproved(false);
         restaurant.setActive(false);
         restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(restaurant);
+        catalogSearchIndex.restaurantChanged(restaurant);
+        gatewayCacheClient.purgeRestaurants();
     }
 
     public void activateRestaurant(Long id) {
@@ -121,6 +285,9 @@ public class RestaurantService {
         
         restaurant.setActive(true);
         restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(restaurant);
+        catalogSearchIndex.restaurantChanged(restaurant);
+        gatewayCacheClient.purgeRestaurants();
     }
 
     public void deactivateRestaurant(Long id) {
@@ -129,6 +296,9 @@ public class RestaurantService {
         
         restaurant.setActive(false);
         restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(restaurant);
+        catalogSearchIndex.restaurantChanged(restaurant);
+        gatewayCacheClient.purgeRestaurants();
     }
 
     public void updateRating(Long id, Double newRating, Integer totalReviews) {
@@ -138,6 +308,8 @@ public class RestaurantService {
         restaurant.setRating(newRating);
         restaurant.setTotalReviews(totalReviews);
         restaurantRepository.save(restaurant);
+        restaurantCatalog.updated(restaurant);
+        gatewayCacheClient.purgeRestaurants();
     }
 
     public long getActiveRestaurantCount() {
@@ -148,9 +320,20 @@ public class RestaurantService {
         return restaurantRepository.countPendingApproval();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isRestaurantOwner(Long restaurantId, Long userId) {
+        CatalogSnapshot catalog = restaurantCatalog.snapshot();
+        if (catalog != null) {
+            return catalog.getById(restaurantId)
+                    .map(restaurant -> restaurant.getOwnerId().equals(userId))
+                    .orElse(false);
+        }
         return restaurantRepository.findById(restaurantId)
                 .map(restaurant -> restaurant.getOwnerId().equals(userId))
                 .orElse(false);
     }
+
+    private static boolean containsIgnoreCase(String value, String query) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT));
+    }
 }
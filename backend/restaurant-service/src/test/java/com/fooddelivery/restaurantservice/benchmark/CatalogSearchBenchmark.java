@@ -0,0 +1,132 @@
+package com.fooddelivery.restaurantservice.benchmark;
+
+import com.fooddelivery.restaurantservice.search.InvertedIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dish search over a synthetic catalog (100k restaurants with 50 dishes each by default).
+ * {@code substringScan} reproduces the old {@code ILIKE %name%} path as an in-memory scan,
+ * which is a lower bound for what the database had to do; the other benchmarks query the
+ * {@link InvertedIndex} with exact, prefix, misspelled and multi-term queries.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.fooddelivery.restaurantservice.benchmark.CatalogSearchBenchmark
+ * The full corpus needs roughly 3 GB of heap in the forked JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class CatalogSearchBenchmark {
+
+    private static final String[] DISHES = {
+            "biryani", "korma", "tikka", "masala", "paneer", "dal", "naan", "samosa", "pizza", "margherita",
+            "pasta", "lasagna", "risotto", "gnocchi", "burger", "fries", "sandwich", "wrap", "burrito", "taco",
+            "quesadilla", "nachos", "ramen", "udon", "sushi", "tempura", "teriyaki", "dumpling", "noodles",
+            "pho", "curry", "salad", "soup", "falafel", "hummus", "shawarma", "kebab", "gyro", "pancake", "waffle"
+    };
+
+    private static final String[] INGREDIENTS = {
+            "chicken", "lamb", "beef", "pork", "shrimp", "salmon", "tofu", "mushroom", "spinach", "potato",
+            "tomato", "onion", "garlic", "ginger", "chili", "basil", "cilantro", "mint", "lemon", "lime",
+            "cheese", "mozzarella", "parmesan", "cream", "butter", "yogurt", "rice", "egg", "avocado", "corn",
+            "pepper", "cumin", "turmeric", "cardamom", "sesame", "soy", "peanut", "coconut", "honey", "saffron"
+    };
+
+    private static final String[] STYLES = {
+            "spicy", "smoked", "grilled", "crispy", "roasted", "steamed", "fried", "creamy", "tandoori",
+            "classic", "house", "special", "signature", "homestyle", "street", "royal", "fresh", "mild"
+    };
+
+    @Param("100000")
+    private int restaurants;
+
+    @Param("50")
+    private int dishesPerRestaurant;
+
+    private InvertedIndex dishIndex;
+
+    // Dish names kept only for the scan baseline
+    private String[] dishNames;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        dishIndex = new InvertedIndex(3.0f, 1.5f, 1.0f);
+        dishNames = new String[restaurants * dishesPerRestaurant];
+        int dishId = 0;
+        for (int restaurantId = 0; restaurantId < restaurants; restaurantId++) {
+            for (int i = 0; i < dishesPerRestaurant; i++) {
+                String name = pick(random, STYLES) + " " + pick(random, INGREDIENTS) + " " + pick(random, DISHES);
+                String ingredients = pick(random, INGREDIENTS) + ", " + pick(random, INGREDIENTS) + ", "
+                        + pick(random, INGREDIENTS);
+                String description = "Our " + pick(random, STYLES) + " take on " + pick(random, DISHES)
+                        + " with " + pick(random, INGREDIENTS);
+                // Index ids must be positive, so they run one ahead of the array slot
+                dishIndex.put(dishId + 1, restaurantId, name, ingredients, description);
+                dishNames[dishId++] = name;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Long> substringScan() {
+        // Case-insensitive substring match over every dish name, like ILIKE %tikka masala%
+        String needle = "tikka masala";
+        List<Long> hits = new ArrayList<>();
+        for (int i = 0; i < dishNames.length && hits.size() < 20; i++) {
+            if (dishNames[i].toLowerCase(Locale.ROOT).contains(needle)) {
+                hits.add((long) i);
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> exactTerm() {
+        return dishIndex.search("biryani", 20, null);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> multiTerm() {
+        return dishIndex.search("spicy chicken biryani", 20, null);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> prefix() {
+        return dishIndex.search("tand chick", 20, null);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> typo() {
+        return dishIndex.search("biryni panner", 20, null);
+    }
+
+    @Benchmark
+    public List<InvertedIndex.Hit> withinRestaurant() {
+        return dishIndex.searchGroup("chicken", 20, restaurants / 2);
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CatalogSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
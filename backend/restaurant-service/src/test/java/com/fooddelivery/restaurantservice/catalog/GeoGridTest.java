@@ -0,0 +1,119 @@
+package com.fooddelivery.restaurantservice.catalog;
+
+import com.fooddelivery.common.dto.RestaurantDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Compares {@link GeoGrid#nearby} against a brute-force scan of the same restaurants.
+ */
+class GeoGridTest {
+
+    private static final int RESTAURANTS = 20_000;
+
+    // Clustered like real cities, including one straddling the antimeridian and one at a pole
+    private static final double[][] CITIES = {
+            {12.97, 77.59}, {19.07, 72.87}, {28.61, 77.20}, {40.71, -74.0}, {51.5, -0.12},
+            {-33.86, 151.2}, {35.68, 139.69}, {-17.7, 179.99}, {64.1, -21.9}, {89.9, 0}
+    };
+
+    private static final Predicate<RestaurantDTO> HIGHLY_RATED = restaurant -> restaurant.getRating() >= 3;
+
+    private static List<RestaurantDTO> restaurants;
+    private static GeoGrid grid;
+
+    @BeforeAll
+    static void buildGrid() {
+        SplittableRandom random = new SplittableRandom(1);
+        restaurants = new ArrayList<>(RESTAURANTS);
+        for (int i = 0; i < RESTAURANTS; i++) {
+            double[] city = CITIES[i % CITIES.length];
+            double latitude = city[0] + random.nextGaussian() * 0.15;
+            double longitude = city[1] + random.nextGaussian() * 0.15;
+            // Points scattered past the pole land on the other side of it
+            if (latitude > 90) {
+                latitude = 180 - latitude;
+                longitude += 180;
+            }
+            restaurants.add(restaurant(i + 1, latitude, wrapLongitude(longitude), random.nextDouble() * 5));
+        }
+        grid = GeoGrid.of(restaurants);
+    }
+
+    @Test
+    void matchesBruteForceAroundRandomRestaurants() {
+        SplittableRandom random = new SplittableRandom(2);
+        for (int query = 0; query < 2000; query++) {
+            RestaurantDTO near = restaurants.get(random.nextInt(restaurants.size()));
+            double latitude = Math.min(90, near.getLatitude() + random.nextGaussian() * 0.05);
+            double longitude = wrapLongitude(near.getLongitude() + random.nextGaussian() * 0.05);
+            double radiusKm = 1 + random.nextDouble() * 20;
+            int limit = 1 + random.nextInt(50);
+            Predicate<RestaurantDTO> filter = query % 2 == 0 ? null : HIGHLY_RATED;
+
+            assertEquals(bruteForce(latitude, longitude, radiusKm, limit, filter),
+                    grid.nearby(latitude, longitude, radiusKm, limit, filter),
+                    () -> "query at " + latitude + "," + longitude + " radius " + radiusKm + " limit " + limit);
+        }
+    }
+
+    @Test
+    void findsRestaurantsAcrossTheAntimeridian() {
+        for (double longitude : new double[]{179.99, -179.99, 180}) {
+            List<RestaurantDTO> expected = bruteForce(-17.7, longitude, 30, 40, null);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, grid.nearby(-17.7, longitude, 30, 40, null));
+        }
+    }
+
+    @Test
+    void findsRestaurantsNearThePole() {
+        for (double longitude : new double[]{0, 90, -135, 180}) {
+            for (double latitude : new double[]{89.9, 89.99, 90}) {
+                List<RestaurantDTO> expected = bruteForce(latitude, longitude, 25, 60, HIGHLY_RATED);
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, grid.nearby(latitude, longitude, 25, 60, HIGHLY_RATED));
+            }
+        }
+    }
+
+    private static List<RestaurantDTO> bruteForce(double latitude, double longitude, double radiusKm, int limit,
+                                                  Predicate<RestaurantDTO> filter) {
+        Comparator<RestaurantDTO> byDistance = Comparator.comparingDouble(
+                restaurant -> distanceKm(latitude, longitude, restaurant));
+        return restaurants.stream()
+                .filter(restaurant -> filter == null || filter.test(restaurant))
+                .filter(restaurant -> distanceKm(latitude, longitude, restaurant) <= radiusKm)
+                .sorted(byDistance.thenComparing(RestaurantDTO::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    private static double distanceKm(double latitude, double longitude, RestaurantDTO restaurant) {
+        return GeoGrid.distanceKm(latitude, longitude, restaurant.getLatitude(), restaurant.getLongitude());
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return ((longitude + 540) % 360) - 180;
+    }
+
+    private static RestaurantDTO restaurant(long id, double latitude, double longitude, double rating) {
+        RestaurantDTO restaurant = new RestaurantDTO();
+        restaurant.setId(id);
+        restaurant.setActive(true);
+        restaurant.setApproved(true);
+        restaurant.setLatitude(latitude);
+        restaurant.setLongitude(longitude);
+        restaurant.setRating(rating);
+        return restaurant;
+    }
+}
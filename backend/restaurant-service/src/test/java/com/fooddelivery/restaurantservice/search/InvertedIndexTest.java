@@ -0,0 +1,329 @@
+package com.fooddelivery.restaurantservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link InvertedIndex} matches against a brute-force scan of the live documents, and
+ * checks ranking invariants that the scan cannot express.
+ */
+class InvertedIndexTest {
+
+    private static final int DOCUMENTS = 3000;
+    private static final int GROUPS = 40;
+    private static final int SEARCH_ALL = 10_000;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final Map<Long, Document> documents = new HashMap<>();
+    // The index never forgets a term, so prefix expansion counts terms of removed documents too
+    private final TreeSet<String> everIndexed = new TreeSet<>();
+    private List<String> vocabulary;
+    private InvertedIndex index;
+
+    private record Document(long group, String name, String description) {}
+
+    @BeforeEach
+    void buildIndex() {
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < 300) {
+            words.add(randomWord(3 + random.nextInt(6)));
+        }
+        vocabulary = new ArrayList<>(words);
+        index = new InvertedIndex(3f, 1f);
+        for (long id = 1; id <= DOCUMENTS; id++) {
+            put(id);
+        }
+    }
+
+    @Test
+    void matchesBruteForceForExactPrefixAndFuzzyTokens() {
+        assertMatchesBruteForce(2000);
+    }
+
+    @Test
+    void matchesBruteForceAfterReplacingAndRemovingDocuments() {
+        List<Long> ids = new ArrayList<>(documents.keySet());
+        for (int i = 0; i < 1500; i++) {
+            long id = ids.get(random.nextInt(ids.size()));
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                documents.remove(id);
+            } else {
+                put(id);
+            }
+        }
+        assertMatchesBruteForce(2000);
+    }
+
+    @Test
+    void neverReturnsRemovedOrReplacedDocuments() {
+        index = new InvertedIndex(3f, 1f);
+        index.put(1, 1, "paneer tikka", "creamy");
+        index.put(2, 1, "chicken tikka", "grilled");
+        index.put(3, 2, "tikka masala", "spicy");
+        index.remove(2);
+        index.put(3, 2, "dal makhani", "slow cooked");
+
+        assertEquals(List.of(1L), ids(index.search("tikka", 10, null)));
+        assertTrue(index.search("grilled", 10, null).isEmpty());
+        assertTrue(index.search("masala", 10, null).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("makhani", 10, null)));
+        assertFalse(index.contains(2));
+        assertEquals(2, index.size());
+
+        // Re-adding a removed id makes it searchable again under its new text only
+        index.put(2, 1, "butter chicken", "");
+        assertEquals(List.of(2L), ids(index.search("chicken", 10, null)));
+        assertTrue(index.search("grilled", 10, null).isEmpty());
+    }
+
+    @Test
+    void searchGroupMatchesTheFilteredSearch() {
+        for (int query = 0; query < 500; query++) {
+            long group = 1 + random.nextInt(GROUPS);
+            String text = randomQuery();
+            List<InvertedIndex.Hit> filtered = index.search(text, SEARCH_ALL, g -> g == group);
+            assertEquals(filtered, index.searchGroup(text, SEARCH_ALL, group), text);
+            assertEquals(bruteForce(text, group), idSet(filtered), text);
+        }
+        assertTrue(index.searchGroup(vocabulary.get(0), 10, GROUPS + 1).isEmpty());
+    }
+
+    @Test
+    void topKIsThePrefixOfTheFullRanking() {
+        for (int query = 0; query < 500; query++) {
+            String text = randomQuery();
+            List<InvertedIndex.Hit> all = index.search(text, SEARCH_ALL, null);
+            for (int i = 1; i < all.size(); i++) {
+                InvertedIndex.Hit previous = all.get(i - 1);
+                InvertedIndex.Hit hit = all.get(i);
+                assertTrue(previous.score() > hit.score()
+                        || (previous.score() == hit.score() && previous.id() < hit.id()), text);
+            }
+            int limit = 1 + random.nextInt(20);
+            assertEquals(all.subList(0, Math.min(limit, all.size())), index.search(text, limit, null), text);
+        }
+    }
+
+    @Test
+    void tiedScoresKeepTheLowestIds() {
+        index = new InvertedIndex(3f, 1f);
+        for (long id = 20; id >= 1; id--) {
+            index.put(id, id % 3, "garlic naan", "");
+        }
+        List<InvertedIndex.Hit> hits = index.search("naan", 5, null);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(hits));
+        assertEquals(1, hits.stream().map(InvertedIndex.Hit::score).distinct().count());
+        assertEquals(List.of(3L, 6L, 9L), ids(index.searchGroup("naan", 3, 0)));
+    }
+
+    @Test
+    void ranksExactAbovePrefixAboveFuzzy() {
+        index = new InvertedIndex(3f, 1f);
+        index.put(1, 1, "tikkas", "");
+        index.put(2, 1, "tikka", "");
+        index.put(3, 1, "tikko", "");
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("tikka", 10, null)));
+    }
+
+    @Test
+    void prefixExpandsToTheMostFrequentCompletions() {
+        index = new InvertedIndex(1f);
+        long id = 1;
+        int completions = InvertedIndex.MAX_PREFIX_EXPANSIONS + 4;
+        for (int term = 1; term <= completions; term++) {
+            for (int copy = 0; copy < term; copy++) {
+                index.put(id++, 0, String.format("pasta%02d", term));
+            }
+        }
+        Set<String> matched = index.search("pasta", SEARCH_ALL, null).stream()
+                .map(hit -> termOf(hit.id()))
+                .collect(Collectors.toSet());
+        Set<String> expected = new HashSet<>();
+        for (int term = completions - InvertedIndex.MAX_PREFIX_EXPANSIONS + 1; term <= completions; term++) {
+            expected.add(String.format("pasta%02d", term));
+        }
+        assertEquals(expected, matched);
+    }
+
+    @Test
+    void oneEditAwayMatchesOptimalStringAlignment() {
+        assertTrue(InvertedIndex.isOneEditAway("tikka", "itkka"));
+        assertTrue(InvertedIndex.isOneEditAway("biryani", "biryain"));
+        assertTrue(InvertedIndex.isOneEditAway("masala", "masaal"));
+        assertTrue(InvertedIndex.isOneEditAway("ab", "ba"));
+        assertTrue(InvertedIndex.isOneEditAway("paneer", "paner"));
+        assertTrue(InvertedIndex.isOneEditAway("naan", "nan"));
+        assertTrue(InvertedIndex.isOneEditAway("korma", "karma"));
+        assertFalse(InvertedIndex.isOneEditAway("tikka", "tikka"));
+        assertFalse(InvertedIndex.isOneEditAway("tikka", "kitka"));
+        assertFalse(InvertedIndex.isOneEditAway("abc", "cab"));
+
+        // A three-letter alphabet makes near misses of every kind common
+        SplittableRandom strings = new SplittableRandom(3);
+        for (int i = 0; i < 200_000; i++) {
+            String a = randomString(strings, strings.nextInt(7), 3);
+            String b = randomString(strings, strings.nextInt(7), 3);
+            assertEquals(osaDistance(a, b) == 1, InvertedIndex.isOneEditAway(a, b), a + " / " + b);
+        }
+    }
+
+    private void assertMatchesBruteForce(int queries) {
+        for (int query = 0; query < queries; query++) {
+            String text = randomQuery();
+            List<InvertedIndex.Hit> hits = index.search(text, SEARCH_ALL, null);
+            assertEquals(bruteForce(text, null), idSet(hits), text);
+            assertEquals(hits.size(), idSet(hits).size(), text);
+        }
+    }
+
+    // Live documents in which every distinct query token matches some term exactly, as a prefix or one edit away
+    private Set<Long> bruteForce(String query, Long group) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        Set<Long> matches = new HashSet<>();
+        if (tokens.isEmpty()) {
+            return matches;
+        }
+        documents.forEach((id, document) -> {
+            if (group != null && document.group() != group) {
+                return;
+            }
+            Set<String> terms = new HashSet<>(Tokenizer.tokenize(document.name()));
+            terms.addAll(Tokenizer.tokenize(document.description()));
+            if (tokens.stream().allMatch(token -> terms.stream().anyMatch(term -> matches(token, term)))) {
+                matches.add(id);
+            }
+        });
+        return matches;
+    }
+
+    private static boolean matches(String token, String term) {
+        return term.startsWith(token) || (token.length() >= 4 && osaDistance(token, term) == 1);
+    }
+
+    // One or two tokens taken from a live document: exact, cut to a prefix, or given a single typo
+    private String randomQuery() {
+        List<String> words = new ArrayList<>(vocabulary);
+        int tokens = 1 + random.nextInt(2);
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < tokens; i++) {
+            String word = words.get(random.nextInt(words.size()));
+            String token = switch (random.nextInt(3)) {
+                case 0 -> word;
+                case 1 -> prefixWithFewCompletions(word);
+                default -> withTypo(word);
+            };
+            query.append(token).append(' ');
+        }
+        return query.toString().trim();
+    }
+
+    // Prefixes with more completions than the cap are covered by prefixExpandsToTheMostFrequentCompletions
+    private String prefixWithFewCompletions(String word) {
+        for (int length = Math.min(3, word.length()); length < word.length(); length++) {
+            String prefix = word.substring(0, length);
+            if (everIndexed.subSet(prefix, false, prefix + Character.MAX_VALUE, false).size()
+                    <= InvertedIndex.MAX_PREFIX_EXPANSIONS) {
+                return prefix;
+            }
+        }
+        return word;
+    }
+
+    private String withTypo(String word) {
+        int position = random.nextInt(word.length());
+        char letter = (char) ('a' + random.nextInt(26));
+        return switch (random.nextInt(4)) {
+            case 0 -> word.substring(0, position) + letter + word.substring(position + 1);
+            case 1 -> word.substring(0, position) + letter + word.substring(position);
+            case 2 -> word.substring(0, position) + word.substring(position + 1);
+            default -> position + 1 < word.length()
+                    ? word.substring(0, position) + word.charAt(position + 1) + word.charAt(position)
+                            + word.substring(position + 2)
+                    : word;
+        };
+    }
+
+    private void put(long id) {
+        Document document = new Document(1 + random.nextInt(GROUPS), words(1 + random.nextInt(3)),
+                words(random.nextInt(7)));
+        index.put(id, document.group(), document.name(), document.description());
+        documents.put(id, document);
+        everIndexed.addAll(Tokenizer.tokenize(document.name()));
+        everIndexed.addAll(Tokenizer.tokenize(document.description()));
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(vocabulary.get(random.nextInt(vocabulary.size()))).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String randomWord(int length) {
+        return randomString(random, length, 26);
+    }
+
+    private static String randomString(SplittableRandom random, int length, int letters) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(letters)));
+        }
+        return word.toString();
+    }
+
+    private static int osaDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String termOf(long id) {
+        // Ids were assigned term by term: term t owns the t ids after the first t - 1 terms
+        int term = 1;
+        long first = 1;
+        while (id >= first + term) {
+            first += term;
+            term++;
+        }
+        return String.format("pasta%02d", term);
+    }
+
+    private static List<Long> ids(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    private static Set<Long> idSet(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::id).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.userservice.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter over 64-bit hashes. Probes use double hashing on the two halves
+ * of the hash; bits are set atomically so concurrent puts and reads need no lock.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private final LongAdder insertions = new LongAdder();
+
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (m + 63) >>> 6));
+        this.bitCount = (long) bits.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.capacity = n;
+    }
+
+    void put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long size() {
+        return insertions.sum();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // (1 - e^(-kn/m))^k for the current number of insertions
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashCount * (double) size() / bitCount), hashCount);
+    }
+
+    // FNV-1a 64 followed by the splitmix64 finalizer
+    static long hash(String value) {
+        long z = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            z ^= value.charAt(i);
+            z *= 0x100000001b3L;
+        }
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
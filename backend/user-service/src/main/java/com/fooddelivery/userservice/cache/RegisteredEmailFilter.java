@@ -0,0 +1,170 @@
+package com.fooddelivery.userservice.cache;
+
+import com.fooddelivery.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered emails in front of {@code existsByEmail}. A negative
+ * answer is definite and skips the query; a possible positive is confirmed against MySQL.
+ * Until the first build completes every check falls through to the database.
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.email-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.email-filter.expected-users:1000000}")
+    private int expectedUsers;
+
+    @Value("${user.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Filter being built; concurrent registrations are added to it as well so none are lost
+    private volatile BloomFilter building;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private Counter negatives;
+    private Counter truePositives;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void init() {
+        negatives = lookupCounter("negative");
+        truePositives = lookupCounter("true_positive");
+        falsePositives = lookupCounter("false_positive");
+        Gauge.builder("user.email-filter.expected-fpp", this, f -> f.filter == null ? 1.0 : f.filter.expectedFalsePositiveRate())
+                .description("Theoretical false-positive rate at the current fill")
+                .register(meterRegistry);
+        Gauge.builder("user.email-filter.size", this, f -> f.filter == null ? 0 : f.filter.size())
+                .register(meterRegistry);
+    }
+
+    private Counter lookupCounter(String result) {
+        return Counter.builder("user.email-filter.lookups")
+                .description("Email-exists checks by filter outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    public boolean emailExists(String email) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(hash(email))) {
+            negatives.increment();
+            return false;
+        }
+
+        boolean exists = userRepository.existsByEmail(email);
+        if (current != null) {
+            (exists ? truePositives : falsePositives).increment();
+        }
+        return exists;
+    }
+
+    // Call after the user row is committed
+    public void add(String email) {
+        long hash = hash(email);
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(hash);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(hash);
+            if (current.size() > current.capacity()) {
+                CompletableFuture.runAsync(this::rebuild);
+            }
+        }
+    }
+
+    /**
+     * Streams every email from the users table into a new filter sized for twice the current
+     * row count, then swaps it in. Returns false if a rebuild is already running.
+     */
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            long userCount = userRepository.count();
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(expectedUsers, userCount * 2));
+            BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+            building = next;
+
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> next.put(hash(email)));
+                }
+            });
+
+            filter = next;
+            log.info("Email filter rebuilt with {} entries (capacity {}) in {} ms",
+                    next.size(), capacity, System.currentTimeMillis() - startTime);
+            return true;
+        } catch (Exception e) {
+            log.warn("Email filter rebuild failed, keeping previous filter: {}", e.getMessage());
+            return false;
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        BloomFilter current = filter;
+        return Map.of(
+            "ready", current != null,
+            "rebuilding", rebuilding.get(),
+            "size", current == null ? 0 : current.size(),
+            "capacity", current == null ? 0 : current.capacity(),
+            "expectedFalsePositiveRate", current == null ? 1.0 : current.expectedFalsePositiveRate()
+        );
+    }
+
+    // MySQL compares emails case-insensitively, so the filter does too
+    private static long hash(String email) {
+        return BloomFilter.hash(email.toLowerCase(Locale.ROOT));
+    }
+}
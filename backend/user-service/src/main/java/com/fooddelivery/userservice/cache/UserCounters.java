@@ -0,0 +1,128 @@
+package com.fooddelivery.userservice.cache;
+
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * User counts per role and active state, kept in memory so admin stats are a constant-time
+ * read. Seeded by one grouped query, adjusted after each committed write through
+ * UserService, and periodically reconciled against the database to correct any drift.
+ */
+@Component
+public class UserCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCounters.class);
+
+    private static final UserDTO.UserRole[] ROLES = UserDTO.UserRole.values();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Slot per (role, active): role.ordinal() * 2 + (active ? 1 : 0)
+    private final AtomicLongArray counts = new AtomicLongArray(ROLES.length * 2);
+
+    private volatile boolean seeded;
+
+    @PostConstruct
+    public void init() {
+        for (UserDTO.UserRole role : ROLES) {
+            for (boolean active : new boolean[] {true, false}) {
+                int slot = slot(role, active);
+                Gauge.builder("user.count", counts, c -> c.get(slot))
+                        .tag("role", role.name())
+                        .tag("active", Boolean.toString(active))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        reconcile();
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long get(UserDTO.UserRole role, boolean active) {
+        return counts.get(slot(role, active));
+    }
+
+    public void userCreated(UserDTO.UserRole role, boolean active) {
+        afterCommit(() -> counts.incrementAndGet(slot(role, active)));
+    }
+
+    public void userChanged(UserDTO.UserRole fromRole, boolean fromActive, UserDTO.UserRole toRole, boolean toActive) {
+        if (fromRole == toRole && fromActive == toActive) {
+            return;
+        }
+        afterCommit(() -> {
+            counts.decrementAndGet(slot(fromRole, fromActive));
+            counts.incrementAndGet(slot(toRole, toActive));
+        });
+    }
+
+    /**
+     * Replaces every counter with the result of one grouped query. A write committing while
+     * the query runs may be missed or counted twice until the next reconcile.
+     */
+    @Scheduled(fixedDelayString = "${user.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${user.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            long[] actual = new long[counts.length()];
+            List<Object[]> rows = userRepository.countByRoleAndActive();
+            for (Object[] row : rows) {
+                actual[slot((UserDTO.UserRole) row[0], (Boolean) row[1])] = (Long) row[2];
+            }
+
+            long drift = 0;
+            for (int i = 0; i < actual.length; i++) {
+                drift += Math.abs(counts.getAndSet(i, actual[i]) - actual[i]);
+            }
+            if (seeded && drift > 0) {
+                log.info("User counters reconciled, corrected drift of {}", drift);
+            }
+            seeded = true;
+        } catch (Exception e) {
+            log.warn("User counter reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private static int slot(UserDTO.UserRole role, boolean active) {
+        return role.ordinal() * 2 + (active ? 1 : 0);
+    }
+
+    // Only committed writes move the counters
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
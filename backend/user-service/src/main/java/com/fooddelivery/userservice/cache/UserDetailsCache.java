@@ -0,0 +1,79 @@
+package com.fooddelivery.userservice.cache;
+
+import com.fooddelivery.userservice.entity.User;
+import com.fooddelivery.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived, bounded cache of users by email, so authenticating a request does not cost a
+ * query. Writers must call {@link #invalidate(String)}; the TTL bounds staleness across
+ * instances and for writes that bypass UserService.
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final String CACHE_NAME = "user.details";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.cache.ttl:60s}")
+    private Duration ttl;
+
+    @Value("${user.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, User> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Unknown emails are not cached, so a user registering is visible immediately
+    public Optional<User> findByEmail(String email) {
+        if (!enabled) {
+            return userRepository.findByEmail(email);
+        }
+        return Optional.ofNullable(cache.get(email, key -> userRepository.findByEmail(key).orElse(null)));
+    }
+
+    /**
+     * Evicts the user now and again after the current transaction commits, so a concurrent
+     * read cannot re-cache the pre-commit row.
+     */
+    public void invalidate(String email) {
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.userservice.cache;
+
+import com.fooddelivery.common.dto.UserSummaryDTO;
+import com.fooddelivery.userservice.entity.User;
+import com.fooddelivery.userservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of user summaries by id for batch lookups. All misses of a request are
+ * loaded with one {@code findAllById}; unknown ids are not cached.
+ */
+@Component
+public class UserSummaryCache {
+
+    private static final String CACHE_NAME = "user.summaries";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.summary-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${user.summary-cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<Long, UserSummaryDTO> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Map<Long, UserSummaryDTO> getAll(Collection<Long> ids) {
+        return cache.getAll(ids, missing -> userRepository.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(User::getId, UserSummaryCache::toSummary)));
+    }
+
+    // Evicts now and again after commit, like UserDetailsCache
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    private static UserSummaryDTO toSummary(User user) {
+        return new UserSummaryDTO(user.getId(), user.getName(), user.getPhone(), user.getRole(), user.isActive());
+    }
+}
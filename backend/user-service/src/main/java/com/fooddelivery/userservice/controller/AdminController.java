@@ -1,12 +1,22 @@
 package com.fooddelivery.userservice.controller;
 
 import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.userservice.cache.RegisteredEmailFilter;
+import com.fooddelivery.userservice.dto.ImportReport;
+import com.fooddelivery.userservice.dto.UserPage;
+import com.fooddelivery.userservice.service.UserImportService;
 import com.fooddelivery.userservice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -19,30 +29,67 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    // Listings are keyset-paginated on id: pass the previous page's nextCursor as "after"
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPage> getAllUsers(@RequestParam(defaultValue = "0") long after,
+                                                @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(userService.getAllUsers(after, limit));
     }
 
     @GetMapping("/users/role/{role}")
-    public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable UserDTO.UserRole role) {
-        List<UserDTO> users = userService.getUsersByRole(role);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPage> getUsersByRole(@PathVariable UserDTO.UserRole role,
+                                                   @RequestParam(defaultValue = "0") long after,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(userService.getUsersByRole(role, after, limit));
     }
 
     @GetMapping("/users/active")
-    public ResponseEntity<List<UserDTO>> getActiveUsers() {
-        List<UserDTO> users = userService.getActiveUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPage> getActiveUsers(@RequestParam(defaultValue = "0") long after,
+                                                   @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(userService.getActiveUsers(after, limit));
+    }
+
+    // Streams the whole (optionally filtered) table as NDJSON without materializing it
+    @GetMapping(value = "/users/export", produces = "application/x-ndjson")
+    public void exportUsers(@RequestParam(required = false) UserDTO.UserRole role,
+                            @RequestParam(defaultValue = "false") boolean activeOnly,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        userService.exportUsers(role, activeOnly, response.getOutputStream());
     }
 
     @GetMapping("/users/search")
-    public ResponseEntity<List<UserDTO>> searchUsers(@RequestParam String name) {
-        List<UserDTO> users = userService.searchUsersByName(name);
+    public ResponseEntity<List<UserDTO>> searchUsers(@RequestParam String name,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        List<UserDTO> users = userService.searchUsers(name, limit);
         return ResponseEntity.ok(users);
     }
 
+    // Streams a CSV (with header row) or NDJSON body of register requests; one result per row
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                         HttpServletRequest request) {
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        try {
+            ImportReport report = userImportService.importUsers(request.getInputStream(), format);
+            if (report == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("An import is already running");
+            }
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Import failed: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/users/{id}/activate")
     public ResponseEntity<?> activateUser(@PathVariable Long id) {
         try {
@@ -63,6 +110,29 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/email-filter")
+    public ResponseEntity<Map<String, Object>> getEmailFilterStats() {
+        return ResponseEntity.ok(registeredEmailFilter.getStats());
+    }
+
+    @PostMapping("/email-filter/rebuild")
+    public ResponseEntity<?> rebuildEmailFilter() {
+        if (!registeredEmailFilter.rebuild()) {
+            return ResponseEntity.badRequest().body("Email filter rebuild is disabled, already running, or failed");
+        }
+        return ResponseEntity.ok(registeredEmailFilter.getStats());
+    }
+
+    @PutMapping("/users/{id}/role")
+    public ResponseEntity<?> changeUserRole(@PathVariable Long id, @RequestParam UserDTO.UserRole role) {
+        try {
+            userService.changeUserRole(id, role);
+            return ResponseEntity.ok("User role changed successfully");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to change user role: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getUserStats() {
         Map<String, Object> stats = Map.of(
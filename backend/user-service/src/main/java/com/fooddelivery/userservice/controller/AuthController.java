@@ -4,17 +4,27 @@ import com.fooddelivery.common.dto.UserDTO;
 import com.fooddelivery.userservice.dto.AuthRequest;
 import com.fooddelivery.userservice.dto.AuthResponse;
 import com.fooddelivery.userservice.dto.RegisterRequest;
+import com.fooddelivery.userservice.security.LoginAttemptThrottle;
+import com.fooddelivery.userservice.security.PasswordHashingRejectedException;
+import com.fooddelivery.userservice.service.DuplicateEmailException;
+import com.fooddelivery.userservice.service.RevocationService;
 import com.fooddelivery.userservice.service.UserService;
 import com.fooddelivery.userservice.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -29,8 +39,21 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RevocationService revocationService;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody AuthRequest authRequest, HttpServletRequest request) {
+        String clientIp = LoginAttemptThrottle.clientIp(request);
+        if (loginAttemptThrottle.isBlocked(clientIp)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(loginAttemptThrottle.getWindowSeconds()))
+                    .body("Too many failed login attempts, try again later");
+        }
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
@@ -43,6 +66,11 @@ public class AuthController {
             String token = jwtUtil.generateToken(userDetails, user.getId(), user.getRole().name());
             
             return ResponseEntity.ok(new AuthResponse(token, user));
+        } catch (PasswordHashingRejectedException e) {
+            return tooBusy();
+        } catch (BadCredentialsException e) {
+            loginAttemptThrottle.recordFailure(clientIp);
+            return ResponseEntity.badRequest().body("Invalid credentials");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid credentials");
         }
@@ -51,28 +79,47 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest registerRequest) {
         try {
-            if (userService.emailExists(registerRequest.getEmail())) {
-                return ResponseEntity.badRequest().body("Email already exists");
-            }
+            UserDTO user = userService.registerUser(registerRequest);
+            return ResponseEntity.ok(user);
+        } catch (DuplicateEmailException e) {
+            return ResponseEntity.badRequest().body("Email already exists");
+        } catch (PasswordHashingRejectedException e) {
+            return tooBusy();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Registration failed: " + e.getMessage());
+        }
+    }
 
-            UserDTO user = userService.createUser(
-                registerRequest.getEmail(),
-                registerRequest.getPassword(),
-                registerRequest.getName(),
-                registerRequest.getRole()
-            );
+    private ResponseEntity<?> tooBusy() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Server is busy, please retry");
+    }
 
-            // Update additional fields if provided
-            if (registerRequest.getPhone() != null || registerRequest.getAddress() != null) {
-                UserDTO updateDTO = new UserDTO();
-                updateDTO.setPhone(registerRequest.getPhone());
-                updateDTO.setAddress(registerRequest.getAddress());
-                user = userService.updateUser(user.getId(), updateDTO);
-            }
+    // Signup form availability check; most emails are answered by the in-memory filter
+    @GetMapping("/email-available")
+    public ResponseEntity<?> isEmailAvailable(@RequestParam String email) {
+        return ResponseEntity.ok(Map.of("email", email, "available", !userService.emailExists(email)));
+    }
 
-            return ResponseEntity.ok(user);
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
+        try {
+            if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                String token = authHeader.substring(7);
+                if (jwtUtil.validateToken(token)) {
+                    String tokenId = jwtUtil.extractTokenId(token);
+                    // Tokens issued before jti was added can only be revoked through their user
+                    if (tokenId == null) {
+                        return ResponseEntity.badRequest().body("Token cannot be revoked individually");
+                    }
+                    revocationService.revokeToken(tokenId, jwtUtil.extractExpiration(token).getTime());
+                    return ResponseEntity.ok("Logged out successfully");
+                }
+            }
+            return ResponseEntity.badRequest().body("Invalid token");
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Registration failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body("Logout failed");
         }
     }
 
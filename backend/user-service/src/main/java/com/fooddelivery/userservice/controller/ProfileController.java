@@ -1,15 +1,19 @@
 package com.fooddelivery.userservice.controller;
 
 import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.dto.UserSummaryDTO;
 import com.fooddelivery.userservice.dto.ChangePasswordRequest;
 import com.fooddelivery.userservice.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
@@ -18,6 +22,9 @@ public class ProfileController {
     @Autowired
     private UserService userService;
 
+    @Value("${user.batch.max-ids:500}")
+    private int maxBatchIds;
+
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Authentication authentication) {
         try {
@@ -62,6 +69,26 @@ public class ProfileController {
         }
     }
 
+    // Name lookups for list pages: one call per page instead of one per row
+    @GetMapping("/batch")
+    public ResponseEntity<?> getUsersBatch(@RequestParam List<Long> ids) {
+        return batchLookup(ids);
+    }
+
+    // Same as GET for id sets too long for a query string
+    @PostMapping("/batch")
+    public ResponseEntity<?> postUsersBatch(@RequestBody List<Long> ids) {
+        return batchLookup(ids);
+    }
+
+    private ResponseEntity<?> batchLookup(List<Long> ids) {
+        if (ids.size() > maxBatchIds) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchIds + " ids per batch");
+        }
+        List<UserSummaryDTO> users = userService.getUserSummaries(ids);
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         try {
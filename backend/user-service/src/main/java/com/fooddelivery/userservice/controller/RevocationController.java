@@ -0,0 +1,46 @@
+package com.fooddelivery.userservice.controller;
+
+import com.fooddelivery.common.dto.RevocationDTO;
+import com.fooddelivery.userservice.service.RevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Delta feed of revocations for the gateway: entries with an id greater than {@code since},
+ * in id order. Not routed through the gateway; callers present the shared sync token.
+ */
+@RestController
+@RequestMapping("/internal/revocations")
+public class RevocationController {
+
+    public static final String SYNC_TOKEN_HEADER = "X-Revocation-Sync-Token";
+
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    @Autowired
+    private RevocationService revocationService;
+
+    @Value("${revocation.sync-token}")
+    private String syncToken;
+
+    @GetMapping
+    public ResponseEntity<?> getRevocations(@RequestParam(defaultValue = "0") Long since,
+                                            @RequestParam(defaultValue = "1000") int limit,
+                                            @RequestHeader(value = SYNC_TOKEN_HEADER, required = false) String token) {
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), syncToken.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid sync token");
+        }
+
+        List<RevocationDTO> revocations = revocationService.getRevocationsSince(
+                since, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        return ResponseEntity.ok(revocations);
+    }
+}
@@ -0,0 +1,82 @@
+package com.fooddelivery.userservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReport {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private long durationMs;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public enum RowStatus {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    public static class RowResult {
+        private int line;
+        private String email;
+        private RowStatus status;
+        private String message;
+
+        public RowResult() {}
+
+        public RowResult(int line, String email, RowStatus status, String message) {
+            this.line = line;
+            this.email = email;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public void setLine(int line) { this.line = line; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+
+        public RowStatus getStatus() { return status; }
+        public void setStatus(RowStatus status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    public void addRow(RowResult row) {
+        rows.add(row);
+        total++;
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getDuplicates() { return duplicates; }
+    public void setDuplicates(int duplicates) { this.duplicates = duplicates; }
+
+    public int getInvalid() { return invalid; }
+    public void setInvalid(int invalid) { this.invalid = invalid; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public List<RowResult> getRows() { return rows; }
+    public void setRows(List<RowResult> rows) { this.rows = rows; }
+}
@@ -0,0 +1,29 @@
+package com.fooddelivery.userservice.dto;
+
+import com.fooddelivery.common.dto.UserDTO;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated user listing. Pass {@code nextCursor} as {@code after}
+ * to fetch the next page; it is {@code null} on the last page.
+ */
+public class UserPage {
+    private List<UserDTO> users;
+    private Long nextCursor;
+
+    // Constructors
+    public UserPage() {}
+
+    public UserPage(List<UserDTO> users, Long nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<UserDTO> getUsers() { return users; }
+    public void setUsers(List<UserDTO> users) { this.users = users; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,55 @@
+package com.fooddelivery.userservice.entity;
+
+import com.fooddelivery.common.dto.RevocationDTO;
+import jakarta.persistence.*;
+
+/**
+ * Append-only revocation log. The auto-increment id doubles as the cursor the gateway uses
+ * to pull new entries; rows are pruned once every token they cover has expired.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expires_at"))
+public class TokenRevocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RevocationDTO.RevocationType type;
+
+    @Column(nullable = false)
+    private String subject;
+
+    // Epoch milliseconds
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    // Constructors
+    public TokenRevocation() {}
+
+    public TokenRevocation(RevocationDTO.RevocationType type, String subject, long revokedAt, long expiresAt) {
+        this.type = type;
+        this.subject = subject;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public RevocationDTO toDTO() {
+        return new RevocationDTO(id, type, subject, revokedAt, expiresAt);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public RevocationDTO.RevocationType getType() { return type; }
+
+    public String getSubject() { return subject; }
+
+    public long getRevokedAt() { return revokedAt; }
+
+    public long getExpiresAt() { return expiresAt; }
+}
@@ -11,13 +11,21 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+       uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+       indexes = {
+           @Index(name = "idx_users_role_id", columnList = "role, id"),
+           @Index(name = "idx_users_active_id", columnList = "active, id")
+       })
 public class User implements UserDetails {
+    // Unique index backing duplicate-email detection on registration
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
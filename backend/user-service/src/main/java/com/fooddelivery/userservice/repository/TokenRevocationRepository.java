@@ -0,0 +1,22 @@
+package com.fooddelivery.userservice.repository;
+
+import com.fooddelivery.userservice.entity.TokenRevocation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    @Query("SELECT r FROM TokenRevocation r WHERE r.id > :since AND r.expiresAt > :now ORDER BY r.id")
+    List<TokenRevocation> findActiveSince(@Param("since") Long since, @Param("now") long now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
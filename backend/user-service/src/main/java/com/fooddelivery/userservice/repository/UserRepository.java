@@ -2,13 +2,18 @@ package com.fooddelivery.userservice.repository;
 
 import com.fooddelivery.common.dto.UserDTO;
 import com.fooddelivery.userservice.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,17 +21,39 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    // Row-by-row streaming on MySQL; must be consumed inside a transaction
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<String> streamAllEmails();
     
-    List<User> findByRole(UserDTO.UserRole role);
-    
-    List<User> findByActiveTrue();
+    // Keyset pages: rows after the cursor id, served from the primary key or (role|active, id) indexes
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<User> findByRoleAndIdGreaterThanOrderByIdAsc(UserDTO.UserRole role, Long afterId, Pageable pageable);
+
+    List<User> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE (:role IS NULL OR u.role = :role) " +
+           "AND (:activeOnly = false OR u.active = true) ORDER BY u.id")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<User> streamForExport(@Param("role") UserDTO.UserRole role, @Param("activeOnly") boolean activeOnly);
     
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.active = true")
     List<User> findActiveUsersByRole(@Param("role") UserDTO.UserRole role);
     
+    // Only the fields the admin search index needs; must be consumed inside a transaction
+    @Query("SELECT u.id, u.name, u.email, u.active FROM User u")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<Object[]> streamSearchFields();
+
     @Query("SELECT u FROM User u WHERE u.name LIKE %:name% AND u.active = true")
     List<User> findActiveUsersByNameContaining(@Param("name") String name);
     
+    // Seeds and reconciles UserCounters: rows of (role, active, count)
+    @Query("SELECT u.role, u.active, COUNT(u) FROM User u GROUP BY u.role, u.active")
+    List<Object[]> countByRoleAndActive();
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.active = true")
     long countActiveUsersByRole(@Param("role") UserDTO.UserRole role);
 }
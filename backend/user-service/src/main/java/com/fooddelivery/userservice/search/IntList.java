@@ -0,0 +1,69 @@
+package com.fooddelivery.userservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable posting list of ascending document ordinals, stored as a primitive array.
+ */
+final class IntList {
+
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int last() {
+        return size == 0 ? -1 : values[size - 1];
+    }
+
+    /**
+     * Keeps the entries of the first {@code length} values of ascending {@code other} that
+     * are also in this list, compacting them to the front; returns how many were kept.
+     * Gallops through this list, so a short candidate set costs O(k log n), not O(n).
+     */
+    int intersectInto(int[] other, int length) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < length && from < size; i++) {
+            int target = other[i];
+            // Exponential probe for the first value >= target, then binary search within it
+            int bound = 1;
+            while (from + bound < size && values[from + bound] < target) {
+                bound <<= 1;
+            }
+            int low = from + (bound >> 1);
+            int high = Math.min(from + bound, size - 1);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+            if (values[low] == target) {
+                other[kept++] = target;
+                from++;
+            }
+        }
+        return kept;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
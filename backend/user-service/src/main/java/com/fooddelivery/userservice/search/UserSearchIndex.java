@@ -0,0 +1,383 @@
+package com.fooddelivery.userservice.search;
+
+import com.fooddelivery.userservice.entity.User;
+import com.fooddelivery.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Trigram inverted index over user names and emails for admin search. Queries of three or
+ * more characters intersect the posting lists of their trigrams and verify the survivors;
+ * shorter queries scan the in-memory documents. Results are ranked, best match first.
+ *
+ * An updated user gets a new ordinal and its old one is tombstoned, so posting lists stay
+ * append-only and sorted; a rebuild compacts them.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.search.enabled:true}")
+    private boolean enabled;
+
+    // Rebuild once this share of ordinals are tombstones
+    @Value("${user.search.compact-threshold:0.3}")
+    private double compactThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Guarded by lock; null until the first build completes
+    private Postings postings;
+
+    // Guarded by lock; documents written while a rebuild streams the table, replayed on swap
+    private List<Document> pending;
+
+    private Timer searchTimer;
+
+    @PostConstruct
+    public void init() {
+        searchTimer = Timer.builder("user.search")
+                .description("Admin user search served from the trigram index")
+                .register(meterRegistry);
+        Gauge.builder("user.search.documents", this, UserSearchIndex::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return postings != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the user's current name, email and active flag once the surrounding
+     * transaction commits, or immediately when there is none.
+     */
+    public void index(User user) {
+        if (!enabled) {
+            return;
+        }
+        Document document = Document.of(user.getId(), user.getName(), user.getEmail(), user.isActive());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(document);
+                }
+            });
+        } else {
+            apply(document);
+        }
+    }
+
+    private void apply(Document document) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(document);
+            }
+            if (postings == null) {
+                return;
+            }
+            postings.put(document);
+            compact = postings.tombstoneRatio() > compactThreshold;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} active users whose name or email contains the
+     * query, best match first, or {@code null} if the index is not built yet.
+     */
+    public List<Long> search(String query, int limit) {
+        long startTime = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (postings == null) {
+                return null;
+            }
+            return postings.search(query.trim().toLowerCase(Locale.ROOT), limit);
+        } finally {
+            lock.readLock().unlock();
+            searchTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Streams id, name, email and active flag for every user into fresh postings and swaps
+     * them in. Returns false if disabled or a rebuild is already running.
+     */
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Postings next = new Postings();
+        try {
+            long startTime = System.currentTimeMillis();
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = userRepository.streamSearchFields()) {
+                    rows.forEach(row -> next.put(Document.of(
+                            (Long) row[0], (String) row[1], (String) row[2], (Boolean) row[3])));
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(next::put);
+                postings = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("User search index built with {} users in {} ms", next.size(), System.currentTimeMillis() - startTime);
+            return true;
+        } catch (Exception e) {
+            log.warn("User search index build failed, keeping previous index: {}", e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return postings == null ? 0 : postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record Document(long id, String name, String email, boolean active) {
+
+        static Document of(Long id, String name, String email, Boolean active) {
+            return new Document(id,
+                    name == null ? "" : name.toLowerCase(Locale.ROOT),
+                    email == null ? "" : email.toLowerCase(Locale.ROOT),
+                    Boolean.TRUE.equals(active));
+        }
+
+        boolean sameText(Document other) {
+            return name.equals(other.name) && email.equals(other.email);
+        }
+    }
+
+    /**
+     * Ordinal-addressed documents plus trigram posting lists. Not thread-safe; the
+     * enclosing index guards it with its lock.
+     */
+    private static final class Postings {
+
+        private Document[] documents = new Document[1024];
+        private int ordinals;
+        private int live;
+        private final Map<Long, Integer> ordinalById = new HashMap<>();
+        private final Map<Long, IntList> lists = new HashMap<>();
+
+        void put(Document document) {
+            Integer previous = ordinalById.get(document.id());
+            if (previous != null) {
+                if (documents[previous].sameText(document)) {
+                    // Only the active flag changed; trigrams are unaffected
+                    documents[previous] = document;
+                    return;
+                }
+                documents[previous] = null;
+                live--;
+            }
+
+            int ordinal = ordinals++;
+            if (ordinal == documents.length) {
+                documents = Arrays.copyOf(documents, ordinal * 2);
+            }
+            documents[ordinal] = document;
+            ordinalById.put(document.id(), ordinal);
+            live++;
+
+            addTrigrams(document.name(), ordinal);
+            addTrigrams(document.email(), ordinal);
+        }
+
+        private void addTrigrams(String text, int ordinal) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                IntList list = lists.computeIfAbsent(trigram(text, i), key -> new IntList());
+                // Name and email can share a trigram; keep each ordinal once
+                if (list.last() != ordinal) {
+                    list.add(ordinal);
+                }
+            }
+        }
+
+        List<Long> search(String query, int limit) {
+            if (query.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+
+            // Min-heap on rank, so the worst of the current top results is evicted first
+            PriorityQueue<Match> top = new PriorityQueue<>(Comparator.reverseOrder());
+            if (query.length() < 3) {
+                for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+                    offer(top, ordinal, query, limit);
+                }
+            } else {
+                int[] candidates = candidates(query);
+                for (int ordinal : candidates) {
+                    offer(top, ordinal, query, limit);
+                }
+            }
+
+            List<Match> ranked = new ArrayList<>(top);
+            Collections.sort(ranked);
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Match match : ranked) {
+                ids.add(match.document.id());
+            }
+            return ids;
+        }
+
+        // Intersects the query's trigram posting lists, shortest first
+        private int[] candidates(String query) {
+            Set<Long> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                grams.add(trigram(query, i));
+            }
+            List<IntList> postingLists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                IntList list = lists.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                postingLists.add(list);
+            }
+            postingLists.sort(Comparator.comparingInt(IntList::size));
+
+            int[] result = postingLists.get(0).toArray();
+            int length = result.length;
+            for (int i = 1; i < postingLists.size() && length > 0; i++) {
+                length = postingLists.get(i).intersectInto(result, length);
+            }
+            return Arrays.copyOf(result, length);
+        }
+
+        private void offer(PriorityQueue<Match> top, int ordinal, String query, int limit) {
+            Document document = documents[ordinal];
+            if (document == null || !document.active()) {
+                return;
+            }
+            int score = score(document, query);
+            if (score == 0) {
+                return;
+            }
+            Match match = new Match(document, score);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (match.compareTo(top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+
+        // Exact name, name prefix, name word prefix, name substring, then email prefix and substring
+        private static int score(Document document, String query) {
+            String name = document.name();
+            int index = name.indexOf(query);
+            if (index == 0) {
+                return name.length() == query.length() ? 100 : 80;
+            }
+            if (index > 0) {
+                return name.charAt(index - 1) == ' ' ? 60 : 40;
+            }
+            index = document.email().indexOf(query);
+            if (index == 0) {
+                return 30;
+            }
+            return index > 0 ? 20 : 0;
+        }
+
+        double tombstoneRatio() {
+            return ordinals == 0 ? 0 : (double) (ordinals - live) / ordinals;
+        }
+
+        int size() {
+            return live;
+        }
+
+        private static long trigram(String text, int offset) {
+            return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+        }
+    }
+
+    // Orders best first: higher score, then shorter name, then lower id
+    private record Match(Document document, int score) implements Comparable<Match> {
+
+        @Override
+        public int compareTo(Match other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            if (document.name().length() != other.document.name().length()) {
+                return Integer.compare(document.name().length(), other.document.name().length());
+            }
+            return Long.compare(document.id(), other.document.id());
+        }
+    }
+}
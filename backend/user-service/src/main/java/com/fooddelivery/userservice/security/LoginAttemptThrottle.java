@@ -0,0 +1,76 @@
+package com.fooddelivery.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Blocks a client IP after too many failed logins within a window, before any BCrypt work is
+ * spent on it. Counts live in a bounded in-memory cache and reset when the window, measured
+ * from the first failure, ends.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    @Value("${security.login-throttle.max-failures:10}")
+    private int maxFailures;
+
+    @Value("${security.login-throttle.window:15m}")
+    private Duration window;
+
+    @Value("${security.login-throttle.max-clients:100000}")
+    private long maxClients;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, AtomicInteger> failures;
+
+    private Counter throttled;
+
+    @PostConstruct
+    public void init() {
+        failures = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(window)
+                .build();
+        throttled = Counter.builder("user.login.throttled")
+                .description("Login attempts refused because the client had too many failures")
+                .register(meterRegistry);
+    }
+
+    public boolean isBlocked(String clientIp) {
+        AtomicInteger count = failures.getIfPresent(clientIp);
+        boolean blocked = count != null && count.get() >= maxFailures;
+        if (blocked) {
+            throttled.increment();
+        }
+        return blocked;
+    }
+
+    public void recordFailure(String clientIp) {
+        failures.get(clientIp, ip -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public long getWindowSeconds() {
+        return window.getSeconds();
+    }
+
+    // Behind the gateway the peer is the gateway itself; it appends the real client to X-Forwarded-For
+    public static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,11 @@
+package com.fooddelivery.userservice.security;
+
+/**
+ * The password hashing pool is saturated; callers should answer 429 and let the client retry.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.fooddelivery.userservice.service;
+
+/**
+ * Thrown when a user is created with an email that is already registered.
+ */
+public class DuplicateEmailException extends RuntimeException {
+
+    public DuplicateEmailException(String email) {
+        super("Email already exists: " + email);
+    }
+}
@@ -0,0 +1,61 @@
+package com.fooddelivery.userservice.service;
+
+import com.fooddelivery.common.dto.RevocationDTO;
+import com.fooddelivery.userservice.entity.TokenRevocation;
+import com.fooddelivery.userservice.repository.TokenRevocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes revoked users and tokens for the gateway to pull. Entries only need to live as
+ * long as the tokens they cover, so the log stays small.
+ */
+@Service
+@Transactional
+public class RevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationService.class);
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Value("${jwt.expiration}")
+    private Long tokenLifetimeMillis;
+
+    // Every token issued to the user so far stops working; tokens from later logins are unaffected
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        revocationRepository.save(new TokenRevocation(
+                RevocationDTO.RevocationType.USER, userId.toString(), now, now + tokenLifetimeMillis));
+    }
+
+    public void revokeToken(String tokenId, long expiresAt) {
+        revocationRepository.save(new TokenRevocation(
+                RevocationDTO.RevocationType.TOKEN, tokenId, System.currentTimeMillis(), expiresAt));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevocationDTO> getRevocationsSince(Long since, int limit) {
+        return revocationRepository.findActiveSince(since, System.currentTimeMillis(), PageRequest.of(0, limit))
+                .stream()
+                .map(TokenRevocation::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${revocation.prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        int pruned = revocationRepository.deleteExpired(System.currentTimeMillis());
+        if (pruned > 0) {
+            logger.info("Pruned {} expired token revocations", pruned);
+        }
+    }
+}
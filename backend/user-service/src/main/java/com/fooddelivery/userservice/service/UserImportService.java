@@ -0,0 +1,383 @@
+package com.fooddelivery.userservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.userservice.cache.RegisteredEmailFilter;
+import com.fooddelivery.userservice.cache.UserCounters;
+import com.fooddelivery.userservice.dto.ImportReport;
+import com.fooddelivery.userservice.dto.ImportReport.RowResult;
+import com.fooddelivery.userservice.dto.ImportReport.RowStatus;
+import com.fooddelivery.userservice.dto.RegisterRequest;
+import com.fooddelivery.userservice.search.UserSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import for onboarding. Rows are read in chunks from a CSV or NDJSON stream;
+ * each chunk is validated, de-duplicated with one IN query, hashed in parallel on a
+ * dedicated pool (separate from the login hashing pool) and inserted as one JDBC batch.
+ * If a batch fails it is retried row by row so every row gets its own result.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (email, password, name, phone, address, role, created_at, updated_at, active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "password", "name", "role", "phone", "address");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${user.import.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${user.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${user.import.max-rows:100000}")
+    private int maxRows;
+
+    private BCryptPasswordEncoder encoder;
+    private ExecutorService hashPool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        encoder = new BCryptPasswordEncoder(bcryptStrength);
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Imports every row of the stream. Returns {@code null} if another import is running.
+     */
+    public ImportReport importUsers(InputStream input, Format format) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long startTime = System.currentTimeMillis();
+        ImportReport report = new ImportReport();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvColumns = format == Format.CSV ? readCsvHeader(reader) : null;
+            List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            int lineNumber = csvColumns != null ? 1 : 0;
+            int rows = 0;
+            try {
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (++rows > maxRows) {
+                        report.addRow(new RowResult(lineNumber, null, RowStatus.FAILED,
+                                "Import is limited to " + maxRows + " rows; remaining rows were skipped"));
+                        break;
+                    }
+                    chunk.add(parseRow(lineNumber, line, csvColumns));
+                    if (chunk.size() == chunkSize) {
+                        importChunk(chunk, report);
+                        chunk.clear();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // Earlier chunks are committed; report where the input broke off and import what was read
+                log.warn("User import stopped reading at line {}: {}", lineNumber, e.getMessage());
+                report.addRow(new RowResult(lineNumber, null, RowStatus.FAILED,
+                        "Import stopped reading input: " + e.getMessage()));
+            }
+            importChunk(chunk, report);
+        } finally {
+            running.set(false);
+            sample.stop(meterRegistry.timer("user.import"));
+            // Batch inserts do not return ids, so pick imported users up with one index rebuild
+            if (report.getCreated() > 0) {
+                CompletableFuture.runAsync(userSearchIndex::rebuild);
+            }
+        }
+        report.setDurationMs(System.currentTimeMillis() - startTime);
+        log.info("Imported {} of {} users in {} ms ({} duplicates, {} invalid, {} failed)", report.getCreated(),
+                report.getTotal(), report.getDurationMs(), report.getDuplicates(), report.getInvalid(), report.getFailed());
+        return report;
+    }
+
+    private void importChunk(List<ParsedRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Reject duplicates within the chunk and against existing users before spending on BCrypt
+            Set<String> existing = findExistingEmails(chunk);
+            Set<String> seen = new HashSet<>();
+            List<ParsedRow> accepted = new ArrayList<>(chunk.size());
+            for (ParsedRow row : chunk) {
+                if (row.error != null) {
+                    continue;
+                }
+                String key = row.request.getEmail().toLowerCase(Locale.ROOT);
+                if (existing.contains(key) || !seen.add(key)) {
+                    row.status = RowStatus.DUPLICATE;
+                    row.error = "Email already exists";
+                } else {
+                    accepted.add(row);
+                }
+            }
+
+            // One task per row; the pool bounds parallelism to the configured thread count
+            CompletableFuture.allOf(accepted.stream()
+                    .map(row -> CompletableFuture.runAsync(
+                            () -> row.passwordHash = encoder.encode(row.request.getPassword()), hashPool))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            insert(accepted);
+        } catch (RuntimeException e) {
+            // Chunks commit independently; rows of this one that were not written are reported as failed
+            log.warn("User import chunk starting at line {} failed: {}", chunk.get(0).line, e.getMessage());
+            for (ParsedRow row : chunk) {
+                if (row.status == null) {
+                    row.status = RowStatus.FAILED;
+                    row.error = "Import failed for this chunk: " + e.getMessage();
+                }
+            }
+        }
+
+        for (ParsedRow row : chunk) {
+            String email = row.request != null ? row.request.getEmail() : null;
+            report.addRow(new RowResult(row.line, email, row.status, row.error));
+            if (row.status == RowStatus.CREATED) {
+                registeredEmailFilter.add(email);
+                userCounters.userCreated(row.request.getRole(), true);
+            }
+        }
+    }
+
+    private Set<String> findExistingEmails(List<ParsedRow> chunk) {
+        List<String> emails = chunk.stream()
+                .filter(row -> row.error == null)
+                .map(row -> row.request.getEmail())
+                .collect(Collectors.toList());
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return namedParameterJdbcTemplate.queryForList("SELECT email FROM users WHERE email IN (:emails)",
+                        new MapSqlParameterSource("emails", emails), String.class)
+                .stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    private void insert(List<ParsedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    rows.stream().map(row -> row.toParameters(now)).collect(Collectors.toList())));
+            rows.forEach(row -> row.status = RowStatus.CREATED);
+        } catch (DataAccessException batchFailure) {
+            // The batch rolled back as a whole; retry individually to attribute the failure
+            for (ParsedRow row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row.toParameters(now));
+                    row.status = RowStatus.CREATED;
+                } catch (DuplicateKeyException e) {
+                    row.status = RowStatus.DUPLICATE;
+                    row.error = "Email already exists";
+                } catch (DataAccessException e) {
+                    row.status = RowStatus.FAILED;
+                    row.error = e.getMostSpecificCause().getMessage();
+                }
+            }
+        }
+    }
+
+    private ParsedRow parseRow(int line, String text, Map<String, Integer> csvColumns) {
+        ParsedRow row = new ParsedRow(line);
+        try {
+            row.request = csvColumns != null
+                    ? fromCsv(parseCsvLine(text), csvColumns)
+                    : objectMapper.readValue(text, RegisterRequest.class);
+        } catch (Exception e) {
+            row.status = RowStatus.INVALID;
+            row.error = "Unparseable row: " + e.getMessage();
+            return row;
+        }
+
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.status = RowStatus.INVALID;
+            row.error = violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return row;
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return Map.of();
+        }
+        List<String> names = parseCsvLine(header.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS.subList(0, 4))) {
+            throw new IllegalArgumentException("CSV header must include columns " + CSV_COLUMNS.subList(0, 4));
+        }
+        return columns;
+    }
+
+    private static RegisterRequest fromCsv(List<String> fields, Map<String, Integer> columns) {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(field(fields, columns, "email"));
+        request.setPassword(field(fields, columns, "password"));
+        request.setName(field(fields, columns, "name"));
+        request.setPhone(field(fields, columns, "phone"));
+        request.setAddress(field(fields, columns, "address"));
+        String role = field(fields, columns, "role");
+        request.setRole(role == null ? null : UserDTO.UserRole.valueOf(role.toUpperCase(Locale.ROOT)));
+        return request;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class ParsedRow {
+        final int line;
+        RegisterRequest request;
+        String passwordHash;
+        RowStatus status;
+        String error;
+
+        ParsedRow(int line) {
+            this.line = line;
+        }
+
+        Object[] toParameters(Timestamp now) {
+            return new Object[] {
+                request.getEmail(), passwordHash, request.getName(), request.getPhone(),
+                request.getAddress(), request.getRole().name(), now, now, true
+            };
+        }
+    }
+}
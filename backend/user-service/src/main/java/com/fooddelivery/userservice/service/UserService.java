@@ -1,23 +1,60 @@
 package com.fooddelivery.userservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddelivery.common.dto.UserDTO;
+import com.fooddelivery.common.dto.UserSummaryDTO;
+import com.fooddelivery.userservice.cache.RegisteredEmailFilter;
+import com.fooddelivery.userservice.cache.UserCounters;
+import com.fooddelivery.userservice.cache.UserDetailsCache;
+import com.fooddelivery.userservice.cache.UserSummaryCache;
+import com.fooddelivery.userservice.dto.RegisterRequest;
+import com.fooddelivery.userservice.dto.UserPage;
 import com.fooddelivery.userservice.entity.User;
 import com.fooddelivery.userservice.repository.UserRepository;
+import com.fooddelivery.userservice.search.UserSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    // MySQL ER_DUP_ENTRY (SQLState 23000) and the standard unique-violation SQLState (H2, PostgreSQL)
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+    private static final String SQLSTATE_UNIQUE_VIOLATION = "23505";
+
+    public static final int MAX_PAGE_SIZE = 1000;
 
     @Autowired
     private UserRepository userRepository;
@@ -25,46 +62,188 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RevocationService revocationService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Called on every authenticated request; served from cache without opening a transaction
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByEmail(username)
+        return userDetailsCache.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    // Stores a re-hashed password after a successful login (see security.password.rehash-on-login)
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+
+        user.setPassword(newEncodedPassword);
+        User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        return updatedUser;
+    }
+
+    /**
+     * Creates a fully populated user with a single insert. Duplicates are detected by the
+     * unique email index rather than a prior lookup. Runs outside a transaction so no
+     * connection is held while the password is hashed.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO registerUser(RegisterRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            User user = new User(request.getEmail(), passwordEncoder.encode(request.getPassword()),
+                    request.getName(), request.getRole());
+            user.setPhone(request.getPhone());
+            user.setAddress(request.getAddress());
+
+            User savedUser = userRepository.saveAndFlush(user);
+            registeredEmailFilter.add(savedUser.getEmail());
+            userSearchIndex.index(savedUser);
+            userCounters.userCreated(savedUser.getRole(), savedUser.isActive());
+            outcome = "created";
+            return savedUser.toDTO();
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                outcome = "duplicate";
+                throw new DuplicateEmailException(request.getEmail());
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("user.registration")
+                    .description("Signup latency including password hashing")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // Email is the only unique column, so any duplicate-key error on insert is a duplicate email.
+    // Matching the vendor error rather than the index name also covers databases that still carry
+    // the Hibernate-named index from the earlier @Column(unique = true) mapping.
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && ((sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY && "23000".equals(sqlException.getSQLState()))
+                        || SQLSTATE_UNIQUE_VIOLATION.equals(sqlException.getSQLState()))) {
+                return true;
+            }
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
     public UserDTO createUser(String email, String password, String name, UserDTO.UserRole role) {
-        if (userRepository.existsByEmail(email)) {
+        if (registeredEmailFilter.emailExists(email)) {
             throw new RuntimeException("Email already exists: " + email);
         }
 
         User user = new User(email, passwordEncoder.encode(password), name, role);
         User savedUser = userRepository.save(user);
+        registeredEmailFilter.add(savedUser.getEmail());
+        userSearchIndex.index(savedUser);
+        userCounters.userCreated(savedUser.getRole(), savedUser.isActive());
         return savedUser.toDTO();
     }
 
+    // Summaries in request order; unknown ids are skipped. Cache misses cost one findAllById
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<UserSummaryDTO> getUserSummaries(Collection<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, UserSummaryDTO> summaries = userSummaryCache.getAll(uniqueIds);
+        return uniqueIds.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     public Optional<UserDTO> getUserById(Long id) {
         return userRepository.findById(id).map(User::toDTO);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<UserDTO> getUserByEmail(String email) {
-        return userRepository.findByEmail(email).map(User::toDTO);
+        return userDetailsCache.findByEmail(email).map(User::toDTO);
     }
 
-    public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(User::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserPage getAllUsers(long afterId, int limit) {
+        return toPage(userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageOf(limit)), limit);
     }
 
-    public List<UserDTO> getUsersByRole(UserDTO.UserRole role) {
-        return userRepository.findByRole(role).stream()
-                .map(User::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserPage getUsersByRole(UserDTO.UserRole role, long afterId, int limit) {
+        return toPage(userRepository.findByRoleAndIdGreaterThanOrderByIdAsc(role, afterId, pageOf(limit)), limit);
     }
 
-    public List<UserDTO> getActiveUsers() {
-        return userRepository.findByActiveTrue().stream()
-                .map(User::toDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserPage getActiveUsers(long afterId, int limit) {
+        return toPage(userRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, pageOf(limit)), limit);
+    }
+
+    // Fetch one extra row to learn whether another page exists without a count query
+    private static Pageable pageOf(int limit) {
+        return PageRequest.of(0, clampPageSize(limit) + 1);
+    }
+
+    private static UserPage toPage(List<User> users, int limit) {
+        int pageSize = clampPageSize(limit);
+        boolean hasMore = users.size() > pageSize;
+        List<User> page = hasMore ? users.subList(0, pageSize) : users;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new UserPage(page.stream().map(User::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Writes matching users to {@code out} as NDJSON, one row at a time. Each entity is
+     * detached once written so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(UserDTO.UserRole role, boolean activeOnly, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        long count = 0;
+        try (Stream<User> users = userRepository.streamForExport(role, activeOnly)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                buffered.write(objectMapper.writeValueAsBytes(user.toDTO()));
+                buffered.write('\n');
+                entityManager.detach(user);
+                count++;
+            }
+        }
+        buffered.flush();
+        return count;
     }
 
     public List<UserDTO> getActiveUsersByRole(UserDTO.UserRole role) {
@@ -79,6 +258,9 @@ public class UserService implements UserDetailsService {
 
         user.updateFromDTO(userDTO);
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        userSummaryCache.invalidate(user.getId());
+        userSearchIndex.index(updatedUser);
         return updatedUser.toDTO();
     }
 
@@ -88,6 +270,9 @@ public class UserService implements UserDetailsService {
 
         user.updateFromDTO(userDTO);
         User updatedUser = userRepository.save(user);
+        userDetailsCache.invalidate(email);
+        userSummaryCache.invalidate(user.getId());
+        userSearchIndex.index(updatedUser);
         return updatedUser.toDTO();
     }
 
@@ -95,16 +280,39 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found: " + id));
         
+        userCounters.userChanged(user.getRole(), user.isActive(), user.getRole(), false);
         user.setActive(false);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        userSummaryCache.invalidate(id);
+        userSearchIndex.index(user);
+        // Existing tokens would otherwise keep working at the gateway until they expire
+        revocationService.revokeUser(id);
     }
 
     public void activateUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found: " + id));
         
+        userCounters.userChanged(user.getRole(), user.isActive(), user.getRole(), true);
         user.setActive(true);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        userSummaryCache.invalidate(id);
+        userSearchIndex.index(user);
+    }
+
+    public void changeUserRole(Long id, UserDTO.UserRole role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found: " + id));
+
+        userCounters.userChanged(user.getRole(), user.isActive(), role, user.isActive());
+        user.setRole(role);
+        userRepository.save(user);
+        userDetailsCache.invalidate(user.getEmail());
+        userSummaryCache.invalidate(id);
+        // Issued tokens carry the old role
+        revocationService.revokeUser(id);
     }
 
     public boolean changePassword(String email, String oldPassword, String newPassword) {
@@ -117,20 +325,42 @@ public class UserService implements UserDetailsService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userDetailsCache.invalidate(email);
         return true;
     }
 
+    // Active users per role, from the in-memory counters once they are seeded
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public long countUsersByRole(UserDTO.UserRole role) {
+        if (userCounters.isSeeded()) {
+            return userCounters.get(role, true);
+        }
         return userRepository.countActiveUsersByRole(role);
     }
 
-    public List<UserDTO> searchUsersByName(String name) {
-        return userRepository.findActiveUsersByNameContaining(name).stream()
+    // Ranked matches on name or email from the trigram index, falling back to LIKE until it is built
+    @Transactional(readOnly = true)
+    public List<UserDTO> searchUsers(String query, int limit) {
+        List<Long> ids = userSearchIndex.search(query, clampPageSize(limit));
+        if (ids == null) {
+            return userRepository.findActiveUsersByNameContaining(query).stream()
+                    .limit(clampPageSize(limit))
+                    .map(User::toDTO)
+                    .collect(Collectors.toList());
+        }
+
+        Map<Long, User> usersById = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ids.stream()
+                .map(usersById::get)
+                .filter(user -> user != null && user.isActive())
                 .map(User::toDTO)
                 .collect(Collectors.toList());
     }
 
+    // Served by the email filter; only possible positives open a transaction
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean emailExists(String email) {
-        return userRepository.existsByEmail(email);
+        return registeredEmailFilter.emailExists(email);
     }
 }
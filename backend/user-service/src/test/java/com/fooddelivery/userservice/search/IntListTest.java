@@ -0,0 +1,72 @@
+package com.fooddelivery.userservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link IntList#intersectInto} against {@link List#retainAll} on random sorted lists.
+ */
+class IntListTest {
+
+    @Test
+    void intersectionMatchesRetainAll() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 0; round < 20_000; round++) {
+            // Mix dense and sparse lists so both the probe and the binary search do real work
+            int universe = 1 + random.nextInt(round % 2 == 0 ? 64 : 5000);
+            int[] values = sortedSample(random, universe, random.nextInt(Math.min(universe, 2000) + 1));
+            int[] candidates = sortedSample(random, universe, random.nextInt(Math.min(universe, 300) + 1));
+
+            IntList list = new IntList();
+            Arrays.stream(values).forEach(list::add);
+            List<Integer> expected = new ArrayList<>(Arrays.stream(candidates).boxed().toList());
+            expected.retainAll(Arrays.stream(values).boxed().toList());
+
+            int[] other = candidates.clone();
+            int kept = list.intersectInto(other, other.length);
+            assertEquals(expected, Arrays.stream(other, 0, kept).boxed().toList(),
+                    () -> Arrays.toString(values) + " & " + Arrays.toString(candidates));
+        }
+    }
+
+    @Test
+    void intersectsOnlyTheGivenLength() {
+        IntList list = new IntList();
+        for (int value : new int[]{1, 3, 5, 7, 9}) {
+            list.add(value);
+        }
+        int[] other = {3, 4, 9, 11};
+        assertEquals(1, list.intersectInto(other, 2));
+        assertEquals(3, other[0]);
+    }
+
+    @Test
+    void handlesEdgesOfTheList() {
+        IntList list = new IntList();
+        for (int value = 10; value < 20; value++) {
+            list.add(value);
+        }
+        int[] other = {0, 10, 19, 20, 100};
+        assertEquals(2, list.intersectInto(other, other.length));
+        assertArrayEquals(new int[]{10, 19}, Arrays.copyOf(other, 2));
+
+        assertEquals(0, new IntList().intersectInto(new int[]{1, 2, 3}, 3));
+        assertEquals(0, list.intersectInto(new int[0], 0));
+    }
+
+    private static int[] sortedSample(SplittableRandom random, int universe, int count) {
+        TreeSet<Integer> sample = new TreeSet<>();
+        while (sample.size() < count) {
+            sample.add(random.nextInt(universe));
+        }
+        return sample.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
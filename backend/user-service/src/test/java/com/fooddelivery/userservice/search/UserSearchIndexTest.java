@@ -0,0 +1,179 @@
+package com.fooddelivery.userservice.search;
+
+import com.fooddelivery.userservice.entity.User;
+import com.fooddelivery.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives {@link UserSearchIndex} through creates, renames and (de)activations and compares its
+ * results against a substring scan of the same users.
+ */
+class UserSearchIndexTest {
+
+    private static final String[] FIRST = {"Asha", "Ravi", "Priya", "Arjun", "Meera", "Karan", "Anil", "Sana", "Vikram"};
+    private static final String[] LAST = {"Rao", "Sharma", "Iyer", "Khan", "Reddy", "Nair", "Shah", "Raman", "Das"};
+    private static final int SEARCH_ALL = 100_000;
+
+    private final SplittableRandom random = new SplittableRandom(5);
+    private final Map<Long, User> users = new TreeMap<>();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void buildIndex() {
+        when(userRepository.streamSearchFields()).thenAnswer(invocation -> users.values().stream()
+                .map(user -> new Object[]{user.getId(), user.getName(), user.getEmail(), user.isActive()}));
+
+        index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        // Never compact in the background, so every search sees exactly the updates applied so far
+        ReflectionTestUtils.setField(index, "compactThreshold", 1.0);
+        index.init();
+
+        for (long id = 1; id <= 2000; id++) {
+            save(newUser(id));
+        }
+        assertTrue(index.rebuild());
+    }
+
+    @Test
+    void matchesSubstringScan() {
+        assertMatchesScan(3000);
+    }
+
+    @Test
+    void matchesSubstringScanAfterRenamesAndDeactivations() {
+        for (int i = 0; i < 3000; i++) {
+            User user = users.get(1 + (long) random.nextInt(users.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> user.setName(randomName());
+                case 1 -> user.setEmail(randomEmail(user.getId()));
+                default -> user.setActive(!user.isActive());
+            }
+            save(user);
+        }
+        assertMatchesScan(3000);
+
+        assertTrue(index.rebuild());
+        assertEquals(users.size(), ordinals());
+        assertMatchesScan(1000);
+    }
+
+    @Test
+    void activeFlagChangesKeepTheOrdinal() {
+        User user = users.get(1L);
+        String query = user.getName().toLowerCase(Locale.ROOT);
+        int ordinals = ordinals();
+
+        user.setActive(false);
+        save(user);
+        assertFalse(index.search(query, SEARCH_ALL).contains(1L));
+        user.setActive(true);
+        save(user);
+        assertTrue(index.search(query, SEARCH_ALL).contains(1L));
+        assertEquals(ordinals, ordinals());
+
+        // A rename tombstones the old ordinal; the old name no longer finds the user
+        user.setName("Zubin Qureshi");
+        save(user);
+        assertEquals(ordinals + 1, ordinals());
+        assertEquals(List.of(1L), index.search("zubin qureshi", SEARCH_ALL));
+        assertEquals(scan(query), new HashSet<>(index.search(query, SEARCH_ALL)));
+    }
+
+    @Test
+    void topResultsArePrefixOfTheFullRanking() {
+        for (int query = 0; query < 500; query++) {
+            String text = randomQuery();
+            List<Long> all = index.search(text, SEARCH_ALL);
+            int limit = 1 + random.nextInt(20);
+            assertEquals(all.subList(0, Math.min(limit, all.size())), index.search(text, limit), text);
+        }
+    }
+
+    private void assertMatchesScan(int queries) {
+        for (int query = 0; query < queries; query++) {
+            String text = randomQuery();
+            List<Long> ids = index.search(text, SEARCH_ALL);
+            assertEquals(ids.size(), new HashSet<>(ids).size(), text);
+            assertEquals(scan(text), new HashSet<>(ids), text);
+        }
+    }
+
+    // Active users whose name or email contains the query, ignoring case
+    private Set<Long> scan(String query) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        Set<Long> ids = new HashSet<>();
+        if (needle.isEmpty()) {
+            return ids;
+        }
+        for (User user : users.values()) {
+            if (user.isActive() && (user.getName().toLowerCase(Locale.ROOT).contains(needle)
+                    || user.getEmail().toLowerCase(Locale.ROOT).contains(needle))) {
+                ids.add(user.getId());
+            }
+        }
+        return ids;
+    }
+
+    // Substrings of one to eight characters of some user's name or email, sometimes with a typo
+    private String randomQuery() {
+        User user = users.get(1 + (long) random.nextInt(users.size()));
+        String text = random.nextBoolean() ? user.getName() : user.getEmail();
+        int start = random.nextInt(text.length());
+        String query = text.substring(start, Math.min(text.length(), start + 1 + random.nextInt(8)));
+        if (random.nextInt(5) == 0) {
+            int position = random.nextInt(query.length());
+            query = query.substring(0, position) + (char) ('a' + random.nextInt(26)) + query.substring(position + 1);
+        }
+        return query;
+    }
+
+    private void save(User user) {
+        users.put(user.getId(), user);
+        index.index(user);
+    }
+
+    private int ordinals() {
+        Object postings = ReflectionTestUtils.getField(index, "postings");
+        return (Integer) ReflectionTestUtils.getField(postings, "ordinals");
+    }
+
+    private User newUser(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName(randomName());
+        user.setEmail(randomEmail(id));
+        user.setActive(random.nextInt(10) != 0);
+        return user;
+    }
+
+    private String randomName() {
+        return FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+    }
+
+    private String randomEmail(long id) {
+        return FIRST[random.nextInt(FIRST.length)].toLowerCase(Locale.ROOT) + id + "@example.com";
+    }
+}